@@ -0,0 +1,66 @@
+package com.resumeanalyzer.benchmark;
+
+import com.resumeanalyzer.metrics.AnalysisMetrics;
+import com.resumeanalyzer.model.User;
+import com.resumeanalyzer.service.ExtractionCache;
+import com.resumeanalyzer.service.JobProfileCache;
+import com.resumeanalyzer.service.NearDuplicateIndex;
+import com.resumeanalyzer.service.ResumeAnalyzerService;
+import com.resumeanalyzer.service.ResumeSearchIndex;
+import com.resumeanalyzer.service.ScoredAnalysis;
+import com.resumeanalyzer.util.CosineSimilarity;
+import com.resumeanalyzer.util.SkillDataset;
+import com.resumeanalyzer.util.TextCleaner;
+import com.resumeanalyzer.util.UploadReader;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full scoring of one resume against a job description ({@code analyzeText} minus the database save),
+ * with the job description profile already cached as it is for repeated postings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AnalysisBenchmark {
+
+    @Param({"500", "5000", "50000"})
+    public int words;
+
+    @Param({"60", "1000", "10000"})
+    public int taxonomySize;
+
+    private ResumeAnalyzerService service;
+    private String resume;
+    private User user;
+
+    @Setup
+    public void setUp() {
+        TextCleaner textCleaner = new TextCleaner();
+        SkillDataset skillDataset = new SkillDataset(BenchmarkFixtures.taxonomy(taxonomySize));
+        CosineSimilarity cosineSimilarity = new CosineSimilarity(textCleaner);
+        service = new ResumeAnalyzerService(null, textCleaner, skillDataset, cosineSimilarity, null,
+                new JobProfileCache(1 << 20),
+                new ResumeSearchIndex(cosineSimilarity, skillDataset, textCleaner, null, Runnable::run),
+                new NearDuplicateIndex(null, 0.8, 0.95),
+                new AnalysisMetrics(new SimpleMeterRegistry()),
+                new ExtractionCache(1 << 20, "", 0), new UploadReader(10 << 20));
+        resume = BenchmarkFixtures.resume(words);
+        user = User.builder().id(1L).name("Benchmark").email("bench@example.com").role(User.Role.USER).build();
+        service.prepareJobDescription(BenchmarkFixtures.JOB_DESCRIPTION);
+    }
+
+    @Benchmark
+    public ScoredAnalysis score() {
+        return service.score(resume, BenchmarkFixtures.JOB_DESCRIPTION, user);
+    }
+}
@@ -0,0 +1,118 @@
+package com.resumeanalyzer.benchmark;
+
+import com.resumeanalyzer.util.SkillDataset;
+import com.resumeanalyzer.util.SkillTaxonomy;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic synthetic inputs for the benchmarks: resumes of a given length, a job description,
+ * taxonomies of a given size, and the same resume rendered as PDF and DOCX.
+ */
+final class BenchmarkFixtures {
+
+    static final String JOB_DESCRIPTION = "We are hiring a senior backend engineer to design and operate "
+            + "microservices in Java and Spring Boot. You will own REST APIs backed by PostgreSQL and Redis, "
+            + "ship through Jenkins CI/CD pipelines onto Kubernetes on AWS, and mentor other developers. "
+            + "Experience with Kafka, Docker, Terraform and agile delivery is required; React is a plus.";
+
+    private static final String[] WORDS = {
+            "the", "and", "with", "for", "team", "led", "built", "designed", "implemented", "managed",
+            "service", "services", "platform", "customers", "latency", "throughput", "reliability", "migration",
+            "developed", "engineer", "experience", "years", "project", "university", "degree", "certified",
+            "java", "spring", "boot", "docker", "kubernetes", "aws", "react", "python", "sql", "kafka", "redis",
+            "postgresql", "terraform", "jenkins", "graphql", "microservices", "api", "rest", "agile", "scrum",
+            "pipeline", "dashboards", "monitoring", "on-call", "incidents", "reduced", "improved", "by", "40%",
+            "3x", "$200k", "10+", "users", "requests", "per", "second", "across", "regions", "code", "reviews"
+    };
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * A resume of roughly {@code words} words in bullet-point sentences, same text for the same length.
+     */
+    static String resume(int words) {
+        return resume(words, 42);
+    }
+
+    static String resume(int words, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        StringBuilder sb = new StringBuilder(words * 8);
+        sb.append("Experience\n");
+        int inSentence = 0;
+        for (int i = 0; i < words; i++) {
+            if (inSentence == 0) sb.append("- ");
+            sb.append(WORDS[random.nextInt(WORDS.length)]);
+            inSentence++;
+            if (inSentence >= 12 + random.nextInt(8)) {
+                sb.append(".\n");
+                inSentence = 0;
+            } else {
+                sb.append(' ');
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * The bundled taxonomy padded with synthetic two-word skills up to {@code size} skills.
+     */
+    static SkillTaxonomy taxonomy(int size) {
+        SkillTaxonomy bundled = SkillDataset.bundledTaxonomy();
+        List<SkillTaxonomy.Skill> skills = new ArrayList<>();
+        for (String name : bundled.skillNames()) {
+            skills.add(new SkillTaxonomy.Skill(name, bundled.category(name), List.of()));
+        }
+        for (int i = 0; skills.size() < size; i++) {
+            skills.add(new SkillTaxonomy.Skill("tool" + i + " platform", "synthetic", List.of("tool" + i)));
+        }
+        return SkillTaxonomy.compile(1, skills);
+    }
+
+    static byte[] pdf(String text) {
+        try (PDDocument doc = new PDDocument(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            List<String> lines = text.lines().toList();
+            int perPage = 50;
+            for (int start = 0; start < lines.size(); start += perPage) {
+                PDPage page = new PDPage();
+                doc.addPage(page);
+                try (PDPageContentStream content = new PDPageContentStream(doc, page)) {
+                    content.beginText();
+                    content.setFont(PDType1Font.HELVETICA, 9);
+                    content.setLeading(12);
+                    content.newLineAtOffset(40, page.getMediaBox().getHeight() - 40);
+                    for (String line : lines.subList(start, Math.min(lines.size(), start + perPage))) {
+                        content.showText(line);
+                        content.newLine();
+                    }
+                    content.endText();
+                }
+            }
+            doc.save(out);
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static byte[] docx(String text) {
+        try (XWPFDocument doc = new XWPFDocument(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            text.lines().forEach(line -> doc.createParagraph().createRun().setText(line));
+            doc.write(out);
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
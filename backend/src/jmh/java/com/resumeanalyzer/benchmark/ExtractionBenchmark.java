@@ -0,0 +1,55 @@
+package com.resumeanalyzer.benchmark;
+
+import com.resumeanalyzer.util.TextExtractor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Text extraction from uploaded PDF and DOCX files by document length, through the format-specific
+ * fast paths and through Tika. Compare {@code gc.alloc.rate.norm} for allocation per document.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ExtractionBenchmark {
+
+    private static final String DOCX = "application/vnd.openxmlformats-officedocument.wordprocessingml.document";
+
+    @Param({"500", "5000", "50000"})
+    public int words;
+
+    @Param({"pdf", "docx"})
+    public String format;
+
+    /**
+     * {@code fast}: PDFBox and DOCX SAX paths; {@code tika}: Tika's auto-detect parser for everything.
+     */
+    @Param({"fast", "tika"})
+    public String parser;
+
+    private TextExtractor textExtractor;
+    private byte[] document;
+    private String contentType;
+
+    @Setup
+    public void setUp() {
+        textExtractor = new TextExtractor(null, 0, Integer.MAX_VALUE, -1, "fast".equals(parser));
+        String text = BenchmarkFixtures.resume(words);
+        document = "pdf".equals(format) ? BenchmarkFixtures.pdf(text) : BenchmarkFixtures.docx(text);
+        contentType = "pdf".equals(format) ? "application/pdf" : DOCX;
+    }
+
+    @Benchmark
+    public String extractText() {
+        return textExtractor.extractText(new ByteArrayInputStream(document), contentType);
+    }
+}
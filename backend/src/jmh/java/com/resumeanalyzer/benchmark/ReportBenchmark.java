@@ -0,0 +1,59 @@
+package com.resumeanalyzer.benchmark;
+
+import com.resumeanalyzer.dto.AnalysisResponse;
+import com.resumeanalyzer.metrics.AnalysisMetrics;
+import com.resumeanalyzer.service.ReportService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PDF report generation by number of listed skills and suggestions.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ReportBenchmark {
+
+    @Param({"5", "40"})
+    public int items;
+
+    private final ReportService reportService = new ReportService(new AnalysisMetrics(new SimpleMeterRegistry()));
+    private AnalysisResponse response;
+
+    @Setup
+    public void setUp() {
+        List<String> skills = new ArrayList<>();
+        List<String> suggestions = new ArrayList<>();
+        for (int i = 0; i < items; i++) {
+            skills.add("skill" + i);
+            suggestions.add("Suggestion number " + i + ": quantify the impact of this role.");
+        }
+        response = AnalysisResponse.builder()
+                .analysisId(1L)
+                .matchPercentage(72.5)
+                .resumeScore(7.8)
+                .matchedSkills(skills)
+                .missingSkills(skills)
+                .suggestions(suggestions)
+                .readabilityScore(81.0)
+                .atsCompatible(true)
+                .build();
+    }
+
+    @Benchmark
+    public byte[] generatePdf() throws IOException {
+        return reportService.generatePdf(response, "Benchmark User");
+    }
+}
@@ -0,0 +1,125 @@
+package com.resumeanalyzer.benchmark;
+
+import com.resumeanalyzer.SmartResumeAnalyzerApplication;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Load comparison of platform-thread and virtual-thread request handling: the whole application on
+ * an embedded Tomcat (H2, test profile), driven by concurrent HTTP clients. Tomcat's pool is kept
+ * below the client concurrency so platform mode queues at the connector.
+ * <p>
+ * Virtual threads need Java 21; run the benchmark profile with a JDK 21 {@code java} on the PATH.
+ * On Java 17 both modes use platform threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(64)
+public class RequestConcurrencyBenchmark {
+
+    private static final int TOMCAT_THREADS = 32;
+    private static final int DISTINCT_RESUMES = 256;
+    private static final String BOUNDARY = "benchmark-boundary";
+    private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+
+    @Param({"platform", "virtual"})
+    public String threading;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private String baseUrl;
+    private String token;
+    // Distinct resumes, so uploads are scored rather than answered from the near-duplicate index
+    private final byte[][] analyzeBodies = new byte[DISTINCT_RESUMES][];
+    private final AtomicInteger nextResume = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void start() throws IOException, InterruptedException {
+        context = new SpringApplicationBuilder(SmartResumeAnalyzerApplication.class)
+                .profiles("test")
+                .properties(
+                        "server.port=0",
+                        "server.tomcat.threads.max=" + TOMCAT_THREADS,
+                        "spring.threads.virtual.enabled=" + "virtual".equals(threading),
+                        "logging.level.root=WARN")
+                .run();
+        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+        String credentials = "{\"name\":\"Load\",\"email\":\"load@test.com\",\"password\":\"password123\"}";
+        HttpResponse<String> registered = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/register"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(credentials))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        Matcher matcher = TOKEN.matcher(registered.body());
+        if (!matcher.find()) throw new IllegalStateException("Registration failed: " + registered.body());
+        token = matcher.group(1);
+        for (int i = 0; i < DISTINCT_RESUMES; i++) {
+            analyzeBodies[i] = multipart(BenchmarkFixtures.resume(500, i), BenchmarkFixtures.JOB_DESCRIPTION);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    /**
+     * Authenticated read: cached claims and token-version check in the JWT filter, plus the history query.
+     */
+    @Benchmark
+    public int history() throws IOException, InterruptedException {
+        return client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/analyze/history?size=5"))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    /**
+     * Full synchronous analysis of a 500-word text resume: extraction, scoring and save.
+     */
+    @Benchmark
+    public int analyze() throws IOException, InterruptedException {
+        return client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/analyze"))
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "multipart/form-data; boundary=" + BOUNDARY)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(
+                        analyzeBodies[Math.floorMod(nextResume.getAndIncrement(), DISTINCT_RESUMES)]))
+                .build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private static byte[] multipart(String resume, String jobDescription) {
+        String body = "--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"jobDescription\"\r\n\r\n"
+                + jobDescription + "\r\n"
+                + "--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"resume\"; filename=\"resume.txt\"\r\n"
+                + "Content-Type: text/plain\r\n\r\n"
+                + resume + "\r\n"
+                + "--" + BOUNDARY + "--\r\n";
+        return body.getBytes(StandardCharsets.UTF_8);
+    }
+}
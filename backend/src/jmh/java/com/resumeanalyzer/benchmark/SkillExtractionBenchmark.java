@@ -0,0 +1,44 @@
+package com.resumeanalyzer.benchmark;
+
+import com.resumeanalyzer.util.SkillTaxonomy;
+import com.resumeanalyzer.util.TextCleaner;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Skill extraction by resume length and taxonomy size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SkillExtractionBenchmark {
+
+    @Param({"500", "5000", "50000"})
+    public int words;
+
+    @Param({"60", "1000", "10000"})
+    public int taxonomySize;
+
+    private SkillTaxonomy taxonomy;
+    private String cleanedResume;
+
+    @Setup
+    public void setUp() {
+        taxonomy = BenchmarkFixtures.taxonomy(taxonomySize);
+        cleanedResume = new TextCleaner().clean(BenchmarkFixtures.resume(words));
+    }
+
+    @Benchmark
+    public Set<String> extractSkills() {
+        return taxonomy.extractSkills(cleanedResume);
+    }
+}
@@ -0,0 +1,64 @@
+package com.resumeanalyzer.benchmark;
+
+import com.resumeanalyzer.util.CosineSimilarity;
+import com.resumeanalyzer.util.SparseVector;
+import com.resumeanalyzer.util.TextCleaner;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Text cleaning, tokenization and cosine similarity by resume length.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TextProcessingBenchmark {
+
+    @Param({"500", "5000", "50000"})
+    public int words;
+
+    private final TextCleaner textCleaner = new TextCleaner();
+    private final CosineSimilarity cosineSimilarity = new CosineSimilarity(textCleaner);
+    private String resume;
+    private String cleanedResume;
+    private String cleanedJob;
+    private SparseVector jobVector;
+
+    @Setup
+    public void setUp() {
+        resume = BenchmarkFixtures.resume(words);
+        cleanedResume = textCleaner.clean(resume);
+        cleanedJob = textCleaner.clean(BenchmarkFixtures.JOB_DESCRIPTION);
+        jobVector = cosineSimilarity.vectorize(cleanedJob);
+    }
+
+    @Benchmark
+    public String clean() {
+        return textCleaner.clean(resume);
+    }
+
+    @Benchmark
+    public int tokenize() {
+        int[] count = {0};
+        textCleaner.tokenize(resume, (buffer, length) -> count[0] += length);
+        return count[0];
+    }
+
+    @Benchmark
+    public double similarity() {
+        return cosineSimilarity.similarity(cleanedResume, cleanedJob);
+    }
+
+    @Benchmark
+    public double similarityAgainstCachedJob() {
+        return cosineSimilarity.similarity(cosineSimilarity.vectorize(cleanedResume), jobVector);
+    }
+}
@@ -2,11 +2,13 @@ package com.resumeanalyzer;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Main entry point for Smart AI Resume Analyzer application.
  */
 @SpringBootApplication
+@EnableScheduling
 public class SmartResumeAnalyzerApplication {
 
     public static void main(String[] args) {
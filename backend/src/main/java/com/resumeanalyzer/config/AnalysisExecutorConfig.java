@@ -0,0 +1,140 @@
+package com.resumeanalyzer.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded worker pool for CPU-heavy analysis work (batch extraction and scoring).
+ * When the queue is full the submitting request thread runs the task itself, which throttles callers
+ * instead of growing the backlog.
+ * <p>
+ * Asynchronous analysis jobs get their own pool whose queue orders tasks by priority. Nobody is
+ * waiting on the submitting thread there, so a full queue rejects the task instead.
+ * <p>
+ * Document parsing (Tika) gets a third pool, so it stays on platform threads and bounded even when
+ * requests are served on virtual threads. It also rejects when full: a parse can take seconds, and a
+ * request thread running one itself would escape the extraction deadline. These pools run CPU-bound
+ * work and stay platform threads in either threading mode.
+ * <p>
+ * Long-polls for jobs running on another node watch the job row from a single scheduler thread.
+ * <p>
+ * The resume search index re-extracts skills after a taxonomy reload on a single background thread.
+ * One pending rebuild covers any reloads that arrive while another is running, so extra ones are dropped.
+ */
+@Configuration
+public class AnalysisExecutorConfig {
+
+    @Value("${app.analysis.threads:0}")
+    private int threads;
+
+    @Value("${app.analysis.queue-capacity:256}")
+    private int queueCapacity;
+
+    @Value("${app.extraction.threads:0}")
+    private int extractionThreads;
+
+    @Value("${app.extraction.queue-capacity:256}")
+    private int extractionQueueCapacity;
+
+    @Value("${app.analysis.jobs.threads:0}")
+    private int jobThreads;
+
+    @Value("${app.analysis.jobs.queue-capacity:64}")
+    private int jobQueueCapacity;
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService analysisExecutor() {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new ThreadPoolExecutor(
+                poolSize,
+                poolSize,
+                60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("analysis-"),
+                new ThreadPoolExecutor.CallerRunsPolicy()
+        );
+    }
+
+    /**
+     * Throws {@link java.util.concurrent.RejectedExecutionException} when the queue is full.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolExecutor extractionExecutor() {
+        int poolSize = extractionThreads > 0 ? extractionThreads : Runtime.getRuntime().availableProcessors();
+        return new ThreadPoolExecutor(
+                poolSize,
+                poolSize,
+                60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(extractionQueueCapacity),
+                new CustomizableThreadFactory("extraction-"),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+
+    /**
+     * Tasks must be {@link Comparable}; the smallest runs first. Throws
+     * {@link java.util.concurrent.RejectedExecutionException} when the queue is full.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolExecutor analysisJobExecutor() {
+        int poolSize = jobThreads > 0 ? jobThreads : Runtime.getRuntime().availableProcessors();
+        return new ThreadPoolExecutor(
+                poolSize,
+                poolSize,
+                60, TimeUnit.SECONDS,
+                new BoundedPriorityBlockingQueue(jobQueueCapacity),
+                new CustomizableThreadFactory("analysis-job-"),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public ScheduledExecutorService analysisJobPollScheduler() {
+        return Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("analysis-job-poll-"));
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService searchIndexExecutor() {
+        return new ThreadPoolExecutor(
+                1,
+                1,
+                60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(1),
+                new CustomizableThreadFactory("search-index-"),
+                new ThreadPoolExecutor.DiscardPolicy()
+        );
+    }
+
+    /**
+     * PriorityBlockingQueue is unbounded; refusing offers past the capacity makes the executor reject.
+     */
+    static final class BoundedPriorityBlockingQueue extends PriorityBlockingQueue<Runnable> {
+
+        private final int capacity;
+
+        BoundedPriorityBlockingQueue(int capacity) {
+            super(Math.max(1, capacity));
+            this.capacity = capacity;
+        }
+
+        @Override
+        public synchronized boolean offer(Runnable task) {
+            return size() < capacity && super.offer(task);
+        }
+
+        @Override
+        public int remainingCapacity() {
+            return Math.max(0, capacity - size());
+        }
+    }
+}
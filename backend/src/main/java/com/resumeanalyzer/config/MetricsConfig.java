@@ -0,0 +1,37 @@
+package com.resumeanalyzer.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.resumeanalyzer.dto.AnalysisResponse;
+import com.resumeanalyzer.dto.BatchAnalysisResponse;
+import com.resumeanalyzer.metrics.AnalysisMetrics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * Times JSON serialization of analysis responses as the {@code serialize} stage of the analysis pipeline.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper,
+                                                                                   AnalysisMetrics metrics) {
+        return new MappingJackson2HttpMessageConverter(objectMapper) {
+            @Override
+            protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+                if (!(object instanceof AnalysisResponse || object instanceof BatchAnalysisResponse)) {
+                    super.writeInternal(object, type, outputMessage);
+                    return;
+                }
+                AnalysisMetrics.Sample sample = metrics.start(AnalysisMetrics.ContentType.OTHER, 0);
+                super.writeInternal(object, type, outputMessage);
+                sample.stage(AnalysisMetrics.Stage.SERIALIZE);
+            }
+        };
+    }
+}
@@ -0,0 +1,33 @@
+package com.resumeanalyzer.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+
+/**
+ * Reports which threads serve requests. With {@code spring.threads.virtual.enabled} Spring Boot runs
+ * Tomcat request handling, {@code @Scheduled} tasks and async request processing on virtual threads,
+ * but only on Java 21+; on older runtimes the flag is silently ignored, so say so at startup.
+ */
+@Configuration
+@Slf4j
+public class ThreadingModeConfig {
+
+    private static final int VIRTUAL_THREADS_FEATURE_VERSION = 21;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreadsRequested;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reportThreadingMode() {
+        int javaVersion = Runtime.version().feature();
+        if (virtualThreadsRequested && javaVersion < VIRTUAL_THREADS_FEATURE_VERSION) {
+            log.warn("spring.threads.virtual.enabled is set but Java {} has no virtual threads; "
+                    + "requests are served on platform threads", javaVersion);
+        } else {
+            log.info("Requests are served on {} threads", virtualThreadsRequested ? "virtual" : "platform");
+        }
+    }
+}
@@ -1,23 +1,32 @@
 package com.resumeanalyzer.controller;
 
+import com.resumeanalyzer.dto.AnalysisJobResponse;
 import com.resumeanalyzer.dto.AnalysisResponse;
+import com.resumeanalyzer.dto.BatchAnalysisResponse;
+import com.resumeanalyzer.dto.ResumeSearchRequest;
+import com.resumeanalyzer.dto.ResumeSearchResult;
 import com.resumeanalyzer.exception.InvalidFileException;
-import com.resumeanalyzer.model.User;
+import com.resumeanalyzer.security.AuthenticatedUser;
+import com.resumeanalyzer.service.AnalysisJobService;
+import com.resumeanalyzer.service.BatchAnalysisService;
 import com.resumeanalyzer.service.ReportService;
 import com.resumeanalyzer.service.ResumeAnalyzerService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.net.URI;
 import java.util.List;
 
 /**
@@ -31,33 +40,96 @@ import java.util.List;
 public class AnalysisController {
 
     private final ResumeAnalyzerService analyzerService;
+    private final BatchAnalysisService batchAnalysisService;
     private final ReportService reportService;
-    private final com.resumeanalyzer.service.UserService userService;
+    private final AnalysisJobService analysisJobService;
+
+    @Value("${app.analysis.jobs.max-wait-ms:30000}")
+    private long maxJobWaitMs;
 
     @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     @Operation(summary = "Analyze resume against job description")
     public ResponseEntity<AnalysisResponse> analyze(
             @RequestParam("jobDescription") String jobDescription,
             @RequestParam("resume") MultipartFile resume,
-            @AuthenticationPrincipal UserDetails userDetails
+            @AuthenticationPrincipal AuthenticatedUser user
     ) throws IOException {
         if (jobDescription == null || jobDescription.isBlank()) {
             throw new IllegalArgumentException("Job description is required");
         }
-        User user = userService.findByEmail(userDetails.getUsername());
-        AnalysisResponse response = analyzerService.analyze(resume, jobDescription, user);
+        AnalysisResponse response = analyzerService.analyze(resume, jobDescription, user.toUser());
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping(value = "/jobs", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(summary = "Queue a resume analysis; poll the returned job for the result")
+    public ResponseEntity<AnalysisJobResponse> submitJob(
+            @RequestParam("jobDescription") String jobDescription,
+            @RequestParam("resume") MultipartFile resume,
+            @AuthenticationPrincipal AuthenticatedUser user
+    ) throws IOException {
+        if (jobDescription == null || jobDescription.isBlank()) {
+            throw new IllegalArgumentException("Job description is required");
+        }
+        AnalysisJobResponse job = analysisJobService.submit(resume, jobDescription, user.toUser());
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/analyze/jobs/" + job.getJobId()))
+                .body(job);
+    }
+
+    @GetMapping("/jobs/{jobId}")
+    @Operation(summary = "Get analysis job status; with waitMs, wait up to that long for the job to finish")
+    public DeferredResult<AnalysisJobResponse> getJob(
+            @PathVariable String jobId,
+            @RequestParam(defaultValue = "0") long waitMs,
+            @AuthenticationPrincipal AuthenticatedUser user
+    ) {
+        long timeout = Math.min(Math.max(waitMs, 0), maxJobWaitMs);
+        if (timeout == 0) {
+            DeferredResult<AnalysisJobResponse> result = new DeferredResult<>();
+            result.setResult(analysisJobService.getJob(jobId, user.id()));
+            return result;
+        }
+        DeferredResult<AnalysisJobResponse> result = new DeferredResult<>(timeout);
+        result.onTimeout(() -> result.setResult(analysisJobService.getJob(jobId, user.id())));
+        analysisJobService.awaitJob(jobId, user.id(), timeout).whenComplete((job, error) -> {
+            if (error != null) result.setErrorResult(error);
+            else result.setResult(job);
+        });
+        return result;
+    }
+
+    @PostMapping(value = "/batch", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(summary = "Rank multiple resumes against one job description")
+    public ResponseEntity<BatchAnalysisResponse> analyzeBatch(
+            @RequestParam("jobDescription") String jobDescription,
+            @RequestParam("resumes") List<MultipartFile> resumes,
+            @AuthenticationPrincipal AuthenticatedUser user
+    ) {
+        if (jobDescription == null || jobDescription.isBlank()) {
+            throw new IllegalArgumentException("Job description is required");
+        }
+        return ResponseEntity.ok(batchAnalysisService.analyzeBatch(resumes, jobDescription, user.toUser()));
+    }
+
+    @PostMapping("/search")
+    @Operation(summary = "Find stored resumes that best match a job description")
+    public ResponseEntity<List<ResumeSearchResult>> search(
+            @Valid @RequestBody ResumeSearchRequest request,
+            @AuthenticationPrincipal AuthenticatedUser user
+    ) {
+        int limit = request.getLimit() != null ? request.getLimit() : 10;
+        return ResponseEntity.ok(analyzerService.searchStoredResumes(request.getJobDescription(), user.id(), limit));
+    }
+
     @GetMapping("/history")
     @Operation(summary = "Get analysis history")
     public ResponseEntity<List<com.resumeanalyzer.dto.AnalysisHistoryItem>> history(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
-            @AuthenticationPrincipal UserDetails userDetails
+            @AuthenticationPrincipal AuthenticatedUser user
     ) {
-        User user = userService.findByEmail(userDetails.getUsername());
-        List<com.resumeanalyzer.dto.AnalysisHistoryItem> items = analyzerService.getHistory(user.getId(), page, size);
+        List<com.resumeanalyzer.dto.AnalysisHistoryItem> items = analyzerService.getHistory(user.id(), page, size);
         return ResponseEntity.ok(items);
     }
 
@@ -65,10 +137,9 @@ public class AnalysisController {
     @Operation(summary = "Get analysis by ID")
     public ResponseEntity<AnalysisResponse> getAnalysis(
             @PathVariable Long id,
-            @AuthenticationPrincipal UserDetails userDetails
+            @AuthenticationPrincipal AuthenticatedUser user
     ) {
-        User user = userService.findByEmail(userDetails.getUsername());
-        return analyzerService.getAnalysisById(id, user.getId())
+        return analyzerService.getAnalysisById(id, user.id())
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
@@ -77,10 +148,9 @@ public class AnalysisController {
     @Operation(summary = "Delete analysis")
     public ResponseEntity<Void> deleteAnalysis(
             @PathVariable Long id,
-            @AuthenticationPrincipal UserDetails userDetails
+            @AuthenticationPrincipal AuthenticatedUser user
     ) {
-        User user = userService.findByEmail(userDetails.getUsername());
-        analyzerService.deleteAnalysis(id, user.getId());
+        analyzerService.deleteAnalysis(id, user.id());
         return ResponseEntity.noContent().build();
     }
 
@@ -88,13 +158,12 @@ public class AnalysisController {
     @Operation(summary = "Download analysis report as PDF")
     public ResponseEntity<byte[]> downloadReport(
             @PathVariable Long id,
-            @AuthenticationPrincipal UserDetails userDetails
+            @AuthenticationPrincipal AuthenticatedUser user
     ) {
-        User user = userService.findByEmail(userDetails.getUsername());
-        AnalysisResponse response = analyzerService.getAnalysisById(id, user.getId())
+        AnalysisResponse response = analyzerService.getAnalysisById(id, user.id())
                 .orElseThrow(() -> new com.resumeanalyzer.exception.ResourceNotFoundException("Analysis", id));
         try {
-            byte[] pdf = reportService.generatePdf(response, user.getName());
+            byte[] pdf = reportService.generatePdf(response, user.name());
             HttpHeaders headers = new HttpHeaders();
             headers.setContentDispositionFormData("attachment", "resume-analysis-report-" + id + ".pdf");
             return ResponseEntity.ok()
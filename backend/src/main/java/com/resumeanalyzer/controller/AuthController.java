@@ -2,18 +2,22 @@ package com.resumeanalyzer.controller;
 
 import com.resumeanalyzer.dto.AuthResponse;
 import com.resumeanalyzer.dto.LoginRequest;
+import com.resumeanalyzer.dto.RefreshTokenRequest;
 import com.resumeanalyzer.dto.RegisterRequest;
+import com.resumeanalyzer.security.AuthenticatedUser;
 import com.resumeanalyzer.service.AuthService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 /**
- * Authentication endpoints: register and login.
+ * Authentication endpoints: register, login, token refresh, logout and logout from all devices.
  */
 @RestController
 @RequestMapping("/api/auth")
@@ -35,4 +39,25 @@ public class AuthController {
     public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginRequest request) {
         return ResponseEntity.ok(authService.login(request));
     }
+
+    @PostMapping("/refresh")
+    @Operation(summary = "Exchange a refresh token for a new access token and refresh token")
+    public ResponseEntity<AuthResponse> refresh(@Valid @RequestBody RefreshTokenRequest request) {
+        return ResponseEntity.ok(authService.refresh(request));
+    }
+
+    @PostMapping("/logout")
+    @Operation(summary = "Revoke the presented refresh token")
+    public ResponseEntity<Void> logout(@Valid @RequestBody RefreshTokenRequest request) {
+        authService.logout(request);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/logout-all")
+    @Operation(summary = "Revoke all tokens issued to the current user")
+    @SecurityRequirement(name = "bearerAuth")
+    public ResponseEntity<Void> logoutAll(@AuthenticationPrincipal AuthenticatedUser user) {
+        authService.logoutAll(user.id());
+        return ResponseEntity.noContent().build();
+    }
 }
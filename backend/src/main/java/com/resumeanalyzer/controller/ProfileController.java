@@ -1,7 +1,7 @@
 package com.resumeanalyzer.controller;
 
 import com.resumeanalyzer.dto.UserProfileDto;
-import com.resumeanalyzer.model.User;
+import com.resumeanalyzer.security.AuthenticatedUser;
 import com.resumeanalyzer.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -9,7 +9,6 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -28,9 +27,8 @@ public class ProfileController {
 
     @GetMapping
     @Operation(summary = "Get current user profile")
-    public ResponseEntity<UserProfileDto> getProfile(@AuthenticationPrincipal UserDetails userDetails) {
-        User user = userService.findByEmail(userDetails.getUsername());
-        UserProfileDto profile = userService.getProfile(user.getId());
+    public ResponseEntity<UserProfileDto> getProfile(@AuthenticationPrincipal AuthenticatedUser user) {
+        UserProfileDto profile = userService.getProfile(user.id());
         return ResponseEntity.ok(profile);
     }
 }
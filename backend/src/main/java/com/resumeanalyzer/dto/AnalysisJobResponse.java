@@ -0,0 +1,28 @@
+package com.resumeanalyzer.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Status of an asynchronous analysis job; carries the analysis once it has succeeded.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AnalysisJobResponse {
+
+    private String jobId;
+    private String status;        // QUEUED, RUNNING, SUCCEEDED, FAILED
+    private String fileName;
+    private LocalDateTime createdAt;
+    private LocalDateTime completedAt;
+    private AnalysisResponse analysis;
+    private String error;
+}
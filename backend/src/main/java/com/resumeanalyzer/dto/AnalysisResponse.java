@@ -1,5 +1,6 @@
 package com.resumeanalyzer.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -24,4 +25,10 @@ public class AnalysisResponse {
     private List<String> suggestions;
     private Double readabilityScore;   // Bonus: readability
     private Boolean atsCompatible;     // Bonus: ATS compatibility hint
+
+    // Set when the resume is a near-duplicate of one the user analyzed before
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long duplicateOfAnalysisId;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Double duplicateSimilarity;
 }
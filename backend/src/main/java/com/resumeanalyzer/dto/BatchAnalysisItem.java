@@ -0,0 +1,24 @@
+package com.resumeanalyzer.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One file of a batch analysis: its rank and result, or the error that prevented scoring it.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchAnalysisItem {
+
+    private Integer rank;
+    private String fileName;
+    private boolean success;
+    private String error;
+    private AnalysisResponse analysis;
+}
@@ -0,0 +1,23 @@
+package com.resumeanalyzer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response DTO for batch analysis: scored files ranked best match first, followed by failed files.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchAnalysisResponse {
+
+    private int total;
+    private int succeeded;
+    private int failed;
+    private List<BatchAnalysisItem> results;
+}
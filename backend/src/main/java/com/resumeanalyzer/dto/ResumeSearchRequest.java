@@ -0,0 +1,27 @@
+package com.resumeanalyzer.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Request to find the stored resumes that best match a job description.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResumeSearchRequest {
+
+    @NotBlank(message = "Job description is required")
+    private String jobDescription;
+
+    @Min(1)
+    @Max(100)
+    @Builder.Default
+    private Integer limit = 10;
+}
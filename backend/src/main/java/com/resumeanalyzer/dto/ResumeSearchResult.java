@@ -0,0 +1,24 @@
+package com.resumeanalyzer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A stored analysis returned by resume search, with its relevance to the queried job description.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResumeSearchResult {
+
+    private Long analysisId;
+    private Double relevance;
+    private Double matchPercentage;
+    private Double resumeScore;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,11 @@
+package com.resumeanalyzer.exception;
+
+/**
+ * Thrown when a presented refresh token is unknown, expired, revoked or already used.
+ */
+public class InvalidTokenException extends RuntimeException {
+
+    public InvalidTokenException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.resumeanalyzer.exception;
+
+/**
+ * Thrown when a bounded work queue is full and the request should be retried later.
+ */
+public class TooManyRequestsException extends RuntimeException {
+
+    public TooManyRequestsException(String message) {
+        super(message);
+    }
+}
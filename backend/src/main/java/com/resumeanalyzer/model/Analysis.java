@@ -1,10 +1,12 @@
 package com.resumeanalyzer.model;
 
+import com.resumeanalyzer.util.MinHasher;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * Analysis entity storing resume vs job description analysis results.
@@ -38,6 +40,35 @@ public class Analysis {
     @Column(name = "resume_score", nullable = false)
     private Double resumeScore;
 
+    // Derived artifacts, stored so viewing an analysis does not rescore it; see ResumeAnalyzerService.ARTIFACT_VERSION
+    @Convert(converter = StringListConverter.class)
+    @Column(name = "matched_skills", columnDefinition = "TEXT")
+    private List<String> matchedSkills;
+
+    @Convert(converter = StringListConverter.class)
+    @Column(name = "missing_skills", columnDefinition = "TEXT")
+    private List<String> missingSkills;
+
+    @Convert(converter = StringListConverter.class)
+    @Column(name = "suggestions", columnDefinition = "TEXT")
+    private List<String> suggestions;
+
+    @Column(name = "readability_score")
+    private Double readabilityScore;
+
+    @Column(name = "ats_compatible")
+    private Boolean atsCompatible;
+
+    @Column(name = "artifact_version")
+    private Integer artifactVersion;
+
+    @Column(name = "minhash_signature", length = MinHasher.SIGNATURE_BYTES)
+    private byte[] minhashSignature;
+
+    // SHA-256 of the uploaded file, to drop its cached extraction when the analysis is deleted
+    @Column(name = "upload_hash", length = 64)
+    private String uploadHash;
+
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
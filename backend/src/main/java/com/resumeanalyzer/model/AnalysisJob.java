@@ -0,0 +1,73 @@
+package com.resumeanalyzer.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Asynchronous analysis job. The uploaded file is kept with the job until it has run, so queued
+ * jobs can be resumed after a restart. A running job records the node running it and a heartbeat;
+ * one whose heartbeat stops is treated as abandoned and queued again.
+ */
+@Entity
+@Table(name = "analysis_job", indexes = {@Index(columnList = "user_id"), @Index(columnList = "status")})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AnalysisJob {
+
+    public enum Status {
+        QUEUED, RUNNING, SUCCEEDED, FAILED
+    }
+
+    public static final int MAX_RESUME_BYTES = 10 * 1024 * 1024;
+
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Status status;
+
+    @Column(nullable = false)
+    private Integer priority;
+
+    @Column(name = "file_name")
+    private String fileName;
+
+    @Column(name = "job_description", columnDefinition = "TEXT", nullable = false)
+    private String jobDescription;
+
+    // Cleared once the job has run
+    @Column(name = "resume_data", length = MAX_RESUME_BYTES)
+    private byte[] resumeData;
+
+    @Column(name = "analysis_id")
+    private Long analysisId;
+
+    @Column(name = "error")
+    private String error;
+
+    // Node that claimed the job, while it runs
+    @Column(name = "owner", length = 64)
+    private String owner;
+
+    @Column(name = "heartbeat_at")
+    private LocalDateTime heartbeatAt;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+}
@@ -0,0 +1,57 @@
+package com.resumeanalyzer.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Single-use refresh token. Only a SHA-256 digest of the token is stored, under a unique index, so a
+ * refresh is one indexed lookup and a database leak yields nothing usable. Each refresh replaces the
+ * token with a new one in the same family; presenting a token that was already used revokes the whole
+ * family, since one of the two holders must have stolen it.
+ */
+@Entity
+@Table(name = "refresh_token", indexes = {
+        @Index(unique = true, columnList = "token_hash"),
+        @Index(columnList = "family_id"),
+        @Index(columnList = "user_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RefreshToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Hex SHA-256 of the token handed to the client
+    @Column(name = "token_hash", nullable = false, length = 64)
+    private String tokenHash;
+
+    // Shared by every token rotated from the same login
+    @Column(name = "family_id", nullable = false, length = 36)
+    private String familyId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    // Set when the token is exchanged; a second exchange is a reuse
+    @Column(name = "used_at")
+    private LocalDateTime usedAt;
+
+    @Column(nullable = false)
+    private boolean revoked;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,41 @@
+package com.resumeanalyzer.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Stores a list of single-line strings (skills, suggestions) as one newline-separated text column.
+ */
+@Converter
+public class StringListConverter implements AttributeConverter<List<String>, String> {
+
+    private static final char SEPARATOR = '\n';
+
+    @Override
+    public String convertToDatabaseColumn(List<String> values) {
+        if (values == null) return null;
+        StringBuilder sb = new StringBuilder();
+        for (String value : values) {
+            if (sb.length() > 0) sb.append(SEPARATOR);
+            sb.append(value.replace(SEPARATOR, ' '));
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public List<String> convertToEntityAttribute(String column) {
+        if (column == null) return null;
+        List<String> values = new ArrayList<>();
+        if (column.isEmpty()) return values;
+        int start = 0;
+        for (int i = column.indexOf(SEPARATOR); i >= 0; i = column.indexOf(SEPARATOR, start)) {
+            values.add(column.substring(start, i));
+            start = i + 1;
+        }
+        values.add(column.substring(start));
+        return values;
+    }
+}
@@ -38,6 +38,13 @@ public class User {
     @Builder.Default
     private Role role = Role.USER;
 
+    /**
+     * Bumped to revoke every token issued to the user so far; tokens carry the version they were issued
+     * with. Null (rows from before the column existed) counts as 0.
+     */
+    @Column(name = "token_version")
+    private Integer tokenVersion;
+
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
@@ -0,0 +1,88 @@
+package com.resumeanalyzer.repository;
+
+import com.resumeanalyzer.model.AnalysisJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface AnalysisJobRepository extends JpaRepository<AnalysisJob, String> {
+
+    @Query("select j.id as id, j.status as status, j.fileName as fileName, j.analysisId as analysisId, "
+            + "j.error as error, j.createdAt as createdAt, j.completedAt as completedAt "
+            + "from AnalysisJob j where j.id = :id and j.user.id = :userId")
+    Optional<AnalysisJobView> findViewByIdAndUserId(@Param("id") String id, @Param("userId") Long userId);
+
+    @Query("select j.id from AnalysisJob j where j.status in :statuses order by j.createdAt")
+    List<String> findIdsByStatusIn(@Param("statuses") Collection<AnalysisJob.Status> statuses);
+
+    /**
+     * Start a queued job on behalf of {@code owner}; 0 when it is no longer queued (another node
+     * claimed it first).
+     */
+    @Transactional
+    @Modifying
+    @Query("update AnalysisJob j set j.status = com.resumeanalyzer.model.AnalysisJob$Status.RUNNING, "
+            + "j.owner = :owner, j.heartbeatAt = :now "
+            + "where j.id = :id and j.status = com.resumeanalyzer.model.AnalysisJob$Status.QUEUED")
+    int claim(@Param("id") String id, @Param("owner") String owner, @Param("now") LocalDateTime now);
+
+    /**
+     * Record the outcome of a job {@code owner} is running; 0 when it no longer holds the job (its
+     * lease ran out and another node took it over), in which case nothing is written.
+     */
+    @Transactional
+    @Modifying
+    @Query("update AnalysisJob j set j.status = :status, j.analysisId = :analysisId, j.error = :error, "
+            + "j.resumeData = null, j.completedAt = :now "
+            + "where j.id = :id and j.owner = :owner and j.status = com.resumeanalyzer.model.AnalysisJob$Status.RUNNING")
+    int finish(@Param("id") String id, @Param("owner") String owner, @Param("status") AnalysisJob.Status status,
+               @Param("analysisId") Long analysisId, @Param("error") String error, @Param("now") LocalDateTime now);
+
+    /**
+     * Fail a job nobody has claimed yet; 0 when a node claimed it in the meantime.
+     */
+    @Transactional
+    @Modifying
+    @Query("update AnalysisJob j set j.status = com.resumeanalyzer.model.AnalysisJob$Status.FAILED, "
+            + "j.error = :error, j.resumeData = null, j.completedAt = :now "
+            + "where j.id = :id and j.status = com.resumeanalyzer.model.AnalysisJob$Status.QUEUED")
+    int failQueued(@Param("id") String id, @Param("error") String error, @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("update AnalysisJob j set j.heartbeatAt = :now "
+            + "where j.owner = :owner and j.status = com.resumeanalyzer.model.AnalysisJob$Status.RUNNING")
+    int heartbeat(@Param("owner") String owner, @Param("now") LocalDateTime now);
+
+    /**
+     * Running jobs whose owner has not sent a heartbeat since {@code cutoff}.
+     */
+    @Query("select j.id from AnalysisJob j where j.status = com.resumeanalyzer.model.AnalysisJob$Status.RUNNING "
+            + "and (j.heartbeatAt is null or j.heartbeatAt < :cutoff) order by j.createdAt")
+    List<String> findAbandonedIds(@Param("cutoff") LocalDateTime cutoff);
+
+    /**
+     * Put an abandoned job back in the queue, unless its owner sent a heartbeat or finished it since
+     * it was found (0 then), so two nodes cannot both take it over.
+     */
+    @Transactional
+    @Modifying
+    @Query("update AnalysisJob j set j.status = com.resumeanalyzer.model.AnalysisJob$Status.QUEUED, "
+            + "j.owner = null, j.heartbeatAt = null "
+            + "where j.id = :id and j.status = com.resumeanalyzer.model.AnalysisJob$Status.RUNNING "
+            + "and (j.heartbeatAt is null or j.heartbeatAt < :cutoff)")
+    int requeue(@Param("id") String id, @Param("cutoff") LocalDateTime cutoff);
+
+    @Modifying
+    @Query("delete from AnalysisJob j where j.completedAt < :cutoff")
+    int deleteCompletedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,25 @@
+package com.resumeanalyzer.repository;
+
+import com.resumeanalyzer.model.AnalysisJob;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection of an analysis job for status polling, without loading the uploaded file.
+ */
+public interface AnalysisJobView {
+
+    String getId();
+
+    AnalysisJob.Status getStatus();
+
+    String getFileName();
+
+    Long getAnalysisId();
+
+    String getError();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getCompletedAt();
+}
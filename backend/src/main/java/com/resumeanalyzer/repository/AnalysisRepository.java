@@ -1,9 +1,10 @@
 package com.resumeanalyzer.repository;
 
 import com.resumeanalyzer.model.Analysis;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -14,4 +15,14 @@ public interface AnalysisRepository extends JpaRepository<Analysis, Long> {
     List<Analysis> findByUserIdOrderByCreatedAtDesc(Long userId, Pageable pageable);
 
     java.util.Optional<Analysis> findByIdAndUserId(Long id, Long userId);
+
+    @Query("select a.id as id, a.user.id as userId, a.minhashSignature as minhashSignature "
+            + "from Analysis a where a.minhashSignature is not null order by a.id")
+    Slice<AnalysisSignature> findSignatures(Pageable pageable);
+
+    @Query("select a.id as id, a.user.id as userId, a.resumeText as resumeText from Analysis a order by a.id")
+    Slice<AnalysisText> findResumeTexts(Pageable pageable);
+
+    @Query("select max(a.id) from Analysis a")
+    Long findMaxId();
 }
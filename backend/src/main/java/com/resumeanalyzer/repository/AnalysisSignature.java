@@ -0,0 +1,13 @@
+package com.resumeanalyzer.repository;
+
+/**
+ * Projection of the columns needed to rebuild the near-duplicate index, without loading resume text.
+ */
+public interface AnalysisSignature {
+
+    Long getId();
+
+    Long getUserId();
+
+    byte[] getMinhashSignature();
+}
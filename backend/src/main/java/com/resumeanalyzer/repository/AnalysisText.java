@@ -0,0 +1,14 @@
+package com.resumeanalyzer.repository;
+
+/**
+ * Projection of the columns needed to rebuild the resume search index, without loading the rest of the
+ * analysis or its user.
+ */
+public interface AnalysisText {
+
+    Long getId();
+
+    Long getUserId();
+
+    String getResumeText();
+}
@@ -2,7 +2,11 @@ package com.resumeanalyzer.repository;
 
 import com.resumeanalyzer.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
@@ -12,4 +16,12 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
 
     boolean existsByEmail(String email);
+
+    @Query("select coalesce(u.tokenVersion, 0) from User u where u.id = :id")
+    Optional<Integer> findTokenVersionById(@Param("id") Long id);
+
+    @Transactional
+    @Modifying
+    @Query("update User u set u.tokenVersion = coalesce(u.tokenVersion, 0) + 1 where u.id = :id")
+    int incrementTokenVersion(@Param("id") Long id);
 }
@@ -0,0 +1,45 @@
+package com.resumeanalyzer.security;
+
+import com.resumeanalyzer.model.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.MalformedJwtException;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+
+/**
+ * Principal of a request authenticated by bearer token, built from the token's claims alone.
+ * Controllers receive it through {@code @AuthenticationPrincipal}; the only database access on the
+ * way is the cached token version check in {@link TokenVersionCache}.
+ */
+public record AuthenticatedUser(Long id, String email, String name, User.Role role, int tokenVersion) {
+
+    static final String CLAIM_USER_ID = "uid";
+    static final String CLAIM_NAME = "name";
+    static final String CLAIM_ROLE = "role";
+    static final String CLAIM_TOKEN_VERSION = "tv";
+
+    static AuthenticatedUser fromClaims(Claims claims) {
+        Number id = claims.get(CLAIM_USER_ID, Number.class);
+        String role = claims.get(CLAIM_ROLE, String.class);
+        Number tokenVersion = claims.get(CLAIM_TOKEN_VERSION, Number.class);
+        if (id == null || role == null || tokenVersion == null || claims.getSubject() == null) {
+            throw new MalformedJwtException("Token was issued without user claims");
+        }
+        return new AuthenticatedUser(id.longValue(), claims.getSubject(), claims.get(CLAIM_NAME, String.class),
+                User.Role.valueOf(role), tokenVersion.intValue());
+    }
+
+    public List<GrantedAuthority> authorities() {
+        return List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
+    }
+
+    /**
+     * Detached user carrying only what the token holds, for use as the owner of new rows; it is never
+     * saved itself.
+     */
+    public User toUser() {
+        return User.builder().id(id).email(email).name(name).role(role).tokenVersion(tokenVersion).build();
+    }
+}
@@ -0,0 +1,96 @@
+package com.resumeanalyzer.security;
+
+import com.resumeanalyzer.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs a deliberately slow password encoder (BCrypt) on its own bounded pool. The calling request
+ * thread waits for the result, but at most the pool's threads spend CPU on hashing, so a burst of
+ * logins or sign-ups cannot take every core from the rest of the API. When the queue is full the call
+ * fails at once with {@link TooManyRequestsException} (429) instead of piling up.
+ * <p>
+ * Covers registration (encode) and login, since the authentication provider verifies through the
+ * same encoder.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, MeterBinder {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor pool;
+
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder hashes = new LongAdder();
+    private final LongAdder hashNanos = new LongAdder();
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, ThreadPoolExecutor pool) {
+        this.delegate = delegate;
+        this.pool = pool;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return onPool(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return onPool(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("auth.hashing.pool.active", pool, ThreadPoolExecutor::getActiveCount).register(registry);
+        Gauge.builder("auth.hashing.pool.queued", pool, executor -> executor.getQueue().size()).register(registry);
+        FunctionCounter.builder("auth.hashing.rejected", rejected, LongAdder::sum).register(registry);
+        FunctionTimer.builder("auth.hashing", this,
+                        encoder -> encoder.hashes.sum(),
+                        encoder -> encoder.hashNanos.sum(), TimeUnit.NANOSECONDS)
+                .description("Password hashing and verification, excluding time queued")
+                .register(registry);
+    }
+
+    private <T> T onPool(Callable<T> hashing) {
+        Future<T> result;
+        try {
+            result = pool.submit(() -> {
+                long start = System.nanoTime();
+                try {
+                    return hashing.call();
+                } finally {
+                    hashes.increment();
+                    hashNanos.add(System.nanoTime() - start);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new TooManyRequestsException("Too many sign-in attempts are being processed, please retry shortly");
+        }
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
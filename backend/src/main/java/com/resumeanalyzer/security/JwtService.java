@@ -1,77 +1,162 @@
 package com.resumeanalyzer.security;
 
+import com.resumeanalyzer.model.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Function;
 
 /**
  * JWT token generation and validation.
+ * <p>
+ * The signing key and parser are built once. Verified claims are kept in a bounded LRU cache keyed by
+ * a SHA-256 digest of the token (never the token itself) until the token's own expiry, so a client
+ * reusing its bearer token skips signature verification on every request after the first.
  */
 @Service
-public class JwtService {
+public class JwtService implements MeterBinder {
 
-    @Value("${app.jwt.secret}")
-    private String secretKey;
+    private final SecretKey signInKey;
+    private final JwtParser parser;
+    private final long expirationMs;
+    private final int maxCachedTokens;
 
-    @Value("${app.jwt.expiration-ms}")
-    private long expirationMs;
+    private final LinkedHashMap<String, Claims> verified = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Claims> eldest) {
+            return size() > maxCachedTokens;
+        }
+    };
+
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder cacheMisses = new LongAdder();
+    private final LongAdder verifications = new LongAdder();
+    private final LongAdder verificationNanos = new LongAdder();
+
+    @Autowired
+    public JwtService(@Value("${app.jwt.secret}") String secretKey,
+                      @Value("${app.jwt.expiration-ms}") long expirationMs,
+                      @Value("${app.jwt.claims-cache.max-entries:10000}") int maxCachedTokens) {
+        this.signInKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        this.parser = Jwts.parser().verifyWith(signInKey).build();
+        this.expirationMs = expirationMs;
+        this.maxCachedTokens = maxCachedTokens;
+    }
 
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
+        final Claims claims = verify(token);
         return claimsResolver.apply(claims);
     }
 
-    public String generateToken(UserDetails userDetails) {
-        return generateToken(new HashMap<>(), userDetails);
+    /**
+     * Token carrying everything {@link AuthenticatedUser} needs, so requests never load the user.
+     */
+    public String generateToken(User user) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(AuthenticatedUser.CLAIM_USER_ID, user.getId());
+        claims.put(AuthenticatedUser.CLAIM_NAME, user.getName());
+        claims.put(AuthenticatedUser.CLAIM_ROLE, user.getRole().name());
+        claims.put(AuthenticatedUser.CLAIM_TOKEN_VERSION, user.getTokenVersion() == null ? 0 : user.getTokenVersion());
+        return generateToken(claims, user.getEmail());
     }
 
-    public String generateToken(Map<String, Object> extraClaims, UserDetails userDetails) {
+    public String generateToken(Map<String, Object> extraClaims, String subject) {
         return Jwts.builder()
                 .claims(extraClaims)
-                .subject(userDetails.getUsername())
+                .subject(subject)
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + expirationMs))
-                .signWith(getSignInKey())
+                .signWith(signInKey)
                 .compact();
     }
 
-    public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
-    }
-
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
+    /**
+     * Claims of a token whose signature and expiry check out, from the cache when the same token was
+     * verified before. Throws a {@link io.jsonwebtoken.JwtException} (or IllegalArgumentException for
+     * a blank token) otherwise.
+     */
+    public Claims verify(String token) {
+        String key = digest(token);
+        long now = System.currentTimeMillis();
+        synchronized (verified) {
+            Claims cached = verified.get(key);
+            if (cached != null) {
+                if (cached.getExpiration().getTime() > now) {
+                    cacheHits.increment();
+                    return cached;
+                }
+                verified.remove(key);
+            }
+        }
+        cacheMisses.increment();
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+        long start = System.nanoTime();
+        Claims claims;
+        try {
+            claims = parser.parseSignedClaims(token).getPayload();
+        } finally {
+            verifications.increment();
+            verificationNanos.add(System.nanoTime() - start);
+        }
+        if (maxCachedTokens > 0 && claims.getExpiration() != null) {
+            synchronized (verified) {
+                verified.put(key, claims);
+            }
+        }
+        return claims;
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSignInKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionTimer.builder("auth.jwt.verification", this,
+                        service -> service.verifications.sum(),
+                        service -> service.verificationNanos.sum(), TimeUnit.NANOSECONDS)
+                .description("Signature verification and parsing of bearer tokens not found in the claims cache")
+                .register(registry);
+        FunctionCounter.builder("auth.jwt.cache.requests", cacheHits, LongAdder::sum)
+                .tag("result", "hit").register(registry);
+        FunctionCounter.builder("auth.jwt.cache.requests", cacheMisses, LongAdder::sum)
+                .tag("result", "miss").register(registry);
+        Gauge.builder("auth.jwt.cache.size", verified, cache -> {
+            synchronized (cache) {
+                return cache.size();
+            }
+        }).register(registry);
     }
 
-    private SecretKey getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private static String digest(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 }
@@ -0,0 +1,96 @@
+package com.resumeanalyzer.security;
+
+import com.resumeanalyzer.repository.UserRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Current token version per user, for rejecting tokens revoked by a logout-all. Versions are read with
+ * a single-column query and kept in a bounded LRU map for a short time, so authenticated requests do
+ * not load the user row. A revocation on this instance takes effect immediately; on other instances
+ * sharing the database, within the time-to-live.
+ */
+@Component
+public class TokenVersionCache implements MeterBinder {
+
+    // Cached for users that no longer exist; no token carries it
+    private static final int NO_USER = -1;
+
+    private record Entry(int version, long loadedAt) {
+    }
+
+    private final UserRepository userRepository;
+    private final long ttlMs;
+    private final int maxEntries;
+
+    private final LinkedHashMap<Long, Entry> versions = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+            return size() > maxEntries;
+        }
+    };
+
+    // Bumped by every evict; a load that started before one must not repopulate the cache
+    private long evictions;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    @Autowired
+    public TokenVersionCache(UserRepository userRepository,
+                             @Value("${app.jwt.token-version.ttl-ms:60000}") long ttlMs,
+                             @Value("${app.jwt.token-version.max-entries:10000}") int maxEntries) {
+        this.userRepository = userRepository;
+        this.ttlMs = ttlMs;
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Whether a token issued with {@code tokenVersion} has not been revoked since.
+     */
+    public boolean isCurrent(Long userId, int tokenVersion) {
+        long now = System.currentTimeMillis();
+        long evictionsBeforeLoad;
+        synchronized (versions) {
+            Entry cached = versions.get(userId);
+            if (cached != null && now - cached.loadedAt() < ttlMs) {
+                hits.increment();
+                return cached.version() == tokenVersion;
+            }
+            evictionsBeforeLoad = evictions;
+        }
+        misses.increment();
+        int version = userRepository.findTokenVersionById(userId).orElse(NO_USER);
+        synchronized (versions) {
+            // An evict during the load may mean it read the version from before a logout-all
+            if (evictions == evictionsBeforeLoad) versions.put(userId, new Entry(version, now));
+        }
+        return version == tokenVersion;
+    }
+
+    /**
+     * Forget the cached version once it has changed in the database, so the next request reloads it.
+     */
+    public void evict(Long userId) {
+        synchronized (versions) {
+            versions.remove(userId);
+            evictions++;
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("auth.token_version.cache.requests", hits, LongAdder::sum)
+                .tag("result", "hit").register(registry);
+        FunctionCounter.builder("auth.token_version.cache.requests", misses, LongAdder::sum)
+                .tag("result", "miss").register(registry);
+    }
+}
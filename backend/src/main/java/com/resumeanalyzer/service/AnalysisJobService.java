@@ -0,0 +1,318 @@
+package com.resumeanalyzer.service;
+
+import com.resumeanalyzer.dto.AnalysisJobResponse;
+import com.resumeanalyzer.dto.AnalysisResponse;
+import com.resumeanalyzer.exception.InvalidFileException;
+import com.resumeanalyzer.exception.ResourceNotFoundException;
+import com.resumeanalyzer.exception.TooManyRequestsException;
+import com.resumeanalyzer.metrics.AnalysisMetrics;
+import com.resumeanalyzer.model.AnalysisJob;
+import com.resumeanalyzer.model.User;
+import com.resumeanalyzer.repository.AnalysisJobRepository;
+import com.resumeanalyzer.repository.AnalysisJobView;
+import com.resumeanalyzer.util.UploadReader;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Asynchronous resume analysis: jobs are persisted with their upload, run on the bounded job pool
+ * and polled for their result.
+ * <p>
+ * Smaller uploads run first (by size bucket, FIFO within a bucket) so quick analyses are not stuck
+ * behind large PDFs. When the queue is full a submission is refused with 429 rather than queued.
+ * A job is claimed with a conditional update, so with several nodes sharing the database only one
+ * runs it. The running node refreshes a heartbeat on its jobs; a running job whose heartbeat is older
+ * than the lease (its node died or was restarted) is queued again by whichever node notices first.
+ */
+@Service
+@Slf4j
+public class AnalysisJobService implements MeterBinder {
+
+    private final ResumeAnalyzerService analyzerService;
+    private final AnalysisJobRepository jobRepository;
+    private final ThreadPoolExecutor jobExecutor;
+    private final ScheduledExecutorService pollScheduler;
+    private final UploadReader uploadReader;
+    private final long retentionMs;
+    private final long leaseMs;
+    private final long pollIntervalMs;
+    // Identifies this run of the node as the owner of the jobs it claims
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final LongAdder rejected = new LongAdder();
+    // Completion signals for long-polling; only jobs queued on this node have one
+    private final Map<String, CompletableFuture<Void>> completions = new ConcurrentHashMap<>();
+
+    public AnalysisJobService(ResumeAnalyzerService analyzerService, AnalysisJobRepository jobRepository,
+                              ThreadPoolExecutor analysisJobExecutor, ScheduledExecutorService analysisJobPollScheduler,
+                              UploadReader uploadReader,
+                              @Value("${app.analysis.jobs.retention-ms:86400000}") long retentionMs,
+                              @Value("${app.analysis.jobs.lease-ms:120000}") long leaseMs,
+                              @Value("${app.analysis.jobs.poll-interval-ms:1000}") long pollIntervalMs) {
+        this.analyzerService = analyzerService;
+        this.jobRepository = jobRepository;
+        this.jobExecutor = analysisJobExecutor;
+        this.pollScheduler = analysisJobPollScheduler;
+        this.uploadReader = uploadReader;
+        this.retentionMs = retentionMs;
+        this.leaseMs = leaseMs;
+        this.pollIntervalMs = pollIntervalMs;
+    }
+
+    /**
+     * Task ordering for the job pool's priority queue: lower priority value first, then submission order.
+     */
+    private record JobTask(String jobId, int priority, long sequence, Runnable body)
+            implements Runnable, Comparable<JobTask> {
+
+        @Override
+        public void run() {
+            body.run();
+        }
+
+        @Override
+        public int compareTo(JobTask other) {
+            int byPriority = Integer.compare(priority, other.priority);
+            return byPriority != 0 ? byPriority : Long.compare(sequence, other.sequence);
+        }
+    }
+
+    public AnalysisJobResponse submit(MultipartFile resume, String jobDescription, User user) throws IOException {
+        if (resume == null || resume.isEmpty()) {
+            throw new InvalidFileException("Resume file is required");
+        }
+        if (jobExecutor.getQueue().remainingCapacity() == 0) {
+            rejected.increment();
+            throw new TooManyRequestsException("Analysis queue is full, please retry shortly");
+        }
+        // Disallowed and oversized files are refused here rather than stored and failed later
+        UploadReader.Upload upload;
+        try (InputStream in = resume.getInputStream()) {
+            upload = uploadReader.read(in, resume.getSize());
+        }
+        AnalysisJob job = jobRepository.save(AnalysisJob.builder()
+                .id(UUID.randomUUID().toString())
+                .user(user)
+                .status(AnalysisJob.Status.QUEUED)
+                .priority(AnalysisMetrics.SizeBucket.of(resume.getSize()).ordinal())
+                .fileName(resume.getOriginalFilename())
+                .jobDescription(jobDescription)
+                .resumeData(upload.bytes())
+                .build());
+        if (!enqueue(job.getId(), job.getPriority())) {
+            jobRepository.deleteById(job.getId());
+            rejected.increment();
+            throw new TooManyRequestsException("Analysis queue is full, please retry shortly");
+        }
+        return toResponse(job.getId(), job.getStatus(), job.getFileName(), job.getCreatedAt(), null, null, null, user.getId());
+    }
+
+    /**
+     * Current state of one of the user's jobs.
+     */
+    public AnalysisJobResponse getJob(String jobId, Long userId) {
+        AnalysisJobView view = jobRepository.findViewByIdAndUserId(jobId, userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Analysis job not found with id: " + jobId));
+        return toResponse(view.getId(), view.getStatus(), view.getFileName(), view.getCreatedAt(),
+                view.getCompletedAt(), view.getAnalysisId(), view.getError(), userId);
+    }
+
+    /**
+     * Completes with the job state once the job has finished or {@code waitMs} has passed, or right away
+     * if it already has. A job queued on this node signals its completion; one queued or running on
+     * another node is watched by re-reading its state every poll interval.
+     */
+    public CompletableFuture<AnalysisJobResponse> awaitJob(String jobId, Long userId, long waitMs) {
+        // Look up the signal before reading the state, so a job finishing in between is not missed
+        CompletableFuture<Void> completion = completions.get(jobId);
+        AnalysisJobResponse current = getJob(jobId, userId);
+        if (isFinished(current.getStatus())) {
+            return CompletableFuture.completedFuture(current);
+        }
+        if (completion != null) {
+            return completion.thenApply(done -> getJob(jobId, userId));
+        }
+        CompletableFuture<AnalysisJobResponse> result = new CompletableFuture<>();
+        pollUntilFinished(jobId, userId, System.currentTimeMillis() + waitMs, result);
+        return result;
+    }
+
+    private void pollUntilFinished(String jobId, Long userId, long deadline,
+                                   CompletableFuture<AnalysisJobResponse> result) {
+        long delay = Math.max(0, Math.min(pollIntervalMs, deadline - System.currentTimeMillis()));
+        try {
+            pollScheduler.schedule(() -> {
+                try {
+                    AnalysisJobResponse current = getJob(jobId, userId);
+                    if (isFinished(current.getStatus()) || System.currentTimeMillis() >= deadline) {
+                        result.complete(current);
+                    } else {
+                        pollUntilFinished(jobId, userId, deadline, result);
+                    }
+                } catch (RuntimeException e) {
+                    result.completeExceptionally(e);
+                }
+            }, delay, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // Shutting down
+            result.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Queue the jobs waiting in the database, after re-queuing running jobs whose node stopped sending
+     * heartbeats. Jobs running on live nodes are left alone; a duplicate queued here loses the claim.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumePendingJobs() {
+        int abandoned = requeueAbandoned().size();
+        List<String> pending = jobRepository.findIdsByStatusIn(List.of(AnalysisJob.Status.QUEUED));
+        int resumed = 0;
+        for (String jobId : pending) {
+            if (resume(jobId)) resumed++;
+        }
+        if (!pending.isEmpty()) {
+            log.info("Resumed {} of {} pending analysis jobs ({} abandoned)", resumed, pending.size(), abandoned);
+        }
+    }
+
+    /**
+     * Refresh the heartbeat of the jobs running here, and take over jobs abandoned by other nodes.
+     */
+    @Scheduled(fixedDelayString = "${app.analysis.jobs.heartbeat-interval-ms:30000}",
+            initialDelayString = "${app.analysis.jobs.heartbeat-interval-ms:30000}")
+    public void heartbeat() {
+        // A job claimed after this check starts with a fresh heartbeat
+        if (jobExecutor.getActiveCount() > 0) {
+            jobRepository.heartbeat(nodeId, LocalDateTime.now());
+        }
+        List<String> abandoned = requeueAbandoned();
+        for (String jobId : abandoned) resume(jobId);
+        if (!abandoned.isEmpty()) {
+            log.info("Re-queued {} abandoned analysis jobs", abandoned.size());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.analysis.jobs.purge-interval-ms:3600000}",
+            initialDelayString = "${app.analysis.jobs.purge-interval-ms:3600000}")
+    @Transactional
+    public void purgeFinishedJobs() {
+        int purged = jobRepository.deleteCompletedBefore(LocalDateTime.now().minus(Duration.ofMillis(retentionMs)));
+        if (purged > 0) log.info("Purged {} finished analysis jobs", purged);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("analysis.jobs.queued", jobExecutor, executor -> executor.getQueue().size()).register(registry);
+        Gauge.builder("analysis.jobs.running", jobExecutor, ThreadPoolExecutor::getActiveCount).register(registry);
+        FunctionCounter.builder("analysis.jobs.rejected", rejected, LongAdder::sum).register(registry);
+    }
+
+    private List<String> requeueAbandoned() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(Duration.ofMillis(leaseMs));
+        return jobRepository.findAbandonedIds(cutoff).stream()
+                .filter(jobId -> jobRepository.requeue(jobId, cutoff) > 0)
+                .toList();
+    }
+
+    private boolean resume(String jobId) {
+        AnalysisJob job = jobRepository.findById(jobId).orElse(null);
+        if (job == null || job.getStatus() != AnalysisJob.Status.QUEUED) return false;
+        if (enqueue(jobId, job.getPriority())) return true;
+        jobRepository.failQueued(jobId, "Server was busy when the job was resumed, please resubmit", LocalDateTime.now());
+        return false;
+    }
+
+    private boolean enqueue(String jobId, int priority) {
+        CompletableFuture<Void> completion = new CompletableFuture<>();
+        completions.put(jobId, completion);
+        try {
+            jobExecutor.execute(new JobTask(jobId, priority, sequence.getAndIncrement(), () -> run(jobId)));
+            return true;
+        } catch (RejectedExecutionException e) {
+            completions.remove(jobId);
+            return false;
+        }
+    }
+
+    private void run(String jobId) {
+        try {
+            // Several nodes may have queued the job; only the one whose update matches runs it
+            if (jobRepository.claim(jobId, nodeId, LocalDateTime.now()) == 0) return;
+            AnalysisJob job = jobRepository.findById(jobId).orElse(null);
+            if (job == null) return;
+            try {
+                AnalysisResponse response = analyzerService.analyze(job.getResumeData(), job.getJobDescription(), job.getUser());
+                if (!finish(jobId, AnalysisJob.Status.SUCCEEDED, response.getAnalysisId(), null)
+                        && !response.getAnalysisId().equals(response.getDuplicateOfAnalysisId())) {
+                    // The node that took over stores its own analysis; drop ours (unless it was a reused one)
+                    analyzerService.deleteAnalysis(response.getAnalysisId(), job.getUser().getId());
+                }
+            } catch (InvalidFileException | TooManyRequestsException | IllegalArgumentException e) {
+                finish(jobId, AnalysisJob.Status.FAILED, null, e.getMessage());
+            } catch (Exception e) {
+                log.warn("Analysis job {} failed: {}", jobId, e.toString());
+                finish(jobId, AnalysisJob.Status.FAILED, null, "Failed to analyze file");
+            }
+        } finally {
+            CompletableFuture<Void> completion = completions.remove(jobId);
+            if (completion != null) completion.complete(null);
+        }
+    }
+
+    /**
+     * Store the outcome of a job claimed by this node; false if the job was lost to another node meanwhile.
+     */
+    private boolean finish(String jobId, AnalysisJob.Status status, Long analysisId, String error) {
+        if (jobRepository.finish(jobId, nodeId, status, analysisId, error, LocalDateTime.now()) > 0) return true;
+        log.warn("Analysis job {} was taken over by another node after its lease ran out; result discarded", jobId);
+        return false;
+    }
+
+    private static boolean isFinished(String status) {
+        return AnalysisJob.Status.SUCCEEDED.name().equals(status) || AnalysisJob.Status.FAILED.name().equals(status);
+    }
+
+    private AnalysisJobResponse toResponse(String jobId, AnalysisJob.Status status, String fileName,
+                                           LocalDateTime createdAt, LocalDateTime completedAt, Long analysisId,
+                                           String error, Long userId) {
+        AnalysisResponse analysis = analysisId == null ? null
+                : analyzerService.getAnalysisById(analysisId, userId).orElse(null);
+        return AnalysisJobResponse.builder()
+                .jobId(jobId)
+                .status(status.name())
+                .fileName(fileName)
+                .createdAt(createdAt)
+                .completedAt(completedAt)
+                .analysis(analysis)
+                .error(error)
+                .build();
+    }
+}
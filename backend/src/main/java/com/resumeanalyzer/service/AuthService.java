@@ -2,20 +2,22 @@ package com.resumeanalyzer.service;
 
 import com.resumeanalyzer.dto.AuthResponse;
 import com.resumeanalyzer.dto.LoginRequest;
+import com.resumeanalyzer.dto.RefreshTokenRequest;
 import com.resumeanalyzer.dto.RegisterRequest;
 import com.resumeanalyzer.exception.ResourceNotFoundException;
 import com.resumeanalyzer.model.User;
 import com.resumeanalyzer.repository.UserRepository;
 import com.resumeanalyzer.security.JwtService;
+import com.resumeanalyzer.security.TokenVersionCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 /**
- * Authentication: register and login with JWT.
+ * Authentication: register and login with JWT. Both return a short-lived access token and a refresh
+ * token; {@link #refresh} renews the pair without checking the password again.
  */
 @Service
 @RequiredArgsConstructor
@@ -25,36 +27,29 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
+    private final TokenVersionCache tokenVersions;
+    private final RefreshTokenService refreshTokenService;
 
-    @Transactional
+    /**
+     * Not transactional: the password is hashed (queued on the hashing pool, then ~100 ms of BCrypt)
+     * between two short repository calls, so a burst of sign-ups holds no pooled connection while waiting.
+     * The unique index on email still rejects a concurrent registration that passed the check.
+     */
     public AuthResponse register(RegisterRequest request) {
         if (userRepository.existsByEmail(request.getEmail())) {
             throw new IllegalArgumentException("Email already registered");
         }
+        String passwordHash = passwordEncoder.encode(request.getPassword());
 
         User user = User.builder()
                 .name(request.getName())
                 .email(request.getEmail())
-                .password(passwordEncoder.encode(request.getPassword()))
+                .password(passwordHash)
                 .role(User.Role.USER)
                 .build();
         user = userRepository.save(user);
 
-        var userDetails = new org.springframework.security.core.userdetails.User(
-                user.getEmail(),
-                user.getPassword(),
-                java.util.Collections.singletonList(new org.springframework.security.core.authority.SimpleGrantedAuthority("ROLE_" + user.getRole().name()))
-        );
-        String token = jwtService.generateToken(userDetails);
-
-        return AuthResponse.builder()
-                .token(token)
-                .type("Bearer")
-                .id(user.getId())
-                .name(user.getName())
-                .email(user.getEmail())
-                .role(user.getRole().name())
-                .build();
+        return toResponse(user, refreshTokenService.issue(user));
     }
 
     public AuthResponse login(LoginRequest request) {
@@ -65,15 +60,40 @@ public class AuthService {
         User user = userRepository.findByEmail(request.getEmail())
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
-        var userDetails = new org.springframework.security.core.userdetails.User(
-                user.getEmail(),
-                user.getPassword(),
-                java.util.Collections.singletonList(new org.springframework.security.core.authority.SimpleGrantedAuthority("ROLE_" + user.getRole().name()))
-        );
-        String token = jwtService.generateToken(userDetails);
+        return toResponse(user, refreshTokenService.issue(user));
+    }
+
+    /**
+     * New access token and rotated refresh token for a valid, unused refresh token.
+     */
+    public AuthResponse refresh(RefreshTokenRequest request) {
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(request.getRefreshToken());
+        return toResponse(rotation.user(), rotation.refreshToken());
+    }
+
+    /**
+     * Revoke the refresh token of this device (and its rotated successors). The access token stays valid
+     * until it expires.
+     */
+    public void logout(RefreshTokenRequest request) {
+        refreshTokenService.revoke(request.getRefreshToken());
+    }
+
+    /**
+     * Revoke every token issued to the user so far, on all devices.
+     */
+    public void logoutAll(Long userId) {
+        if (userRepository.incrementTokenVersion(userId) == 0) {
+            throw new ResourceNotFoundException("User", userId);
+        }
+        tokenVersions.evict(userId);
+        refreshTokenService.revokeAll(userId);
+    }
 
+    private AuthResponse toResponse(User user, String refreshToken) {
         return AuthResponse.builder()
-                .token(token)
+                .token(jwtService.generateToken(user))
+                .refreshToken(refreshToken)
                 .type("Bearer")
                 .id(user.getId())
                 .name(user.getName())
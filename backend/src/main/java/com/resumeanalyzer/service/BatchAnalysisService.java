@@ -0,0 +1,120 @@
+package com.resumeanalyzer.service;
+
+import com.resumeanalyzer.dto.AnalysisResponse;
+import com.resumeanalyzer.dto.BatchAnalysisItem;
+import com.resumeanalyzer.dto.BatchAnalysisResponse;
+import com.resumeanalyzer.exception.InvalidFileException;
+import com.resumeanalyzer.exception.TooManyRequestsException;
+import com.resumeanalyzer.model.Analysis;
+import com.resumeanalyzer.model.User;
+import com.resumeanalyzer.repository.AnalysisRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Scores one job description against many resumes in parallel and ranks them.
+ * Files are extracted and scored on the shared analysis pool; all successful results are persisted
+ * in one saveAll transaction, and per-file failures are reported inline instead of failing the batch.
+ * That is still one INSERT per analysis: {@link Analysis} uses IDENTITY keys, which rule out JDBC
+ * insert batching.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BatchAnalysisService {
+
+    private final ResumeAnalyzerService analyzerService;
+    private final AnalysisRepository analysisRepository;
+    private final ExecutorService analysisExecutor;
+
+    @Value("${app.analysis.batch.max-files:50}")
+    private int maxFiles;
+
+    public BatchAnalysisResponse analyzeBatch(List<MultipartFile> resumes, String jobDescription, User user) {
+        if (resumes == null || resumes.isEmpty()) {
+            throw new InvalidFileException("At least one resume file is required");
+        }
+        if (resumes.size() > maxFiles) {
+            throw new IllegalArgumentException("A batch may contain at most " + maxFiles + " resume files");
+        }
+
+        analyzerService.prepareJobDescription(jobDescription);
+        List<CompletableFuture<ScoredAnalysis>> futures = new ArrayList<>(resumes.size());
+        for (MultipartFile resume : resumes) {
+            futures.add(CompletableFuture.supplyAsync(() -> score(resume, jobDescription, user), analysisExecutor));
+        }
+
+        List<BatchAnalysisItem> scoredItems = new ArrayList<>();
+        List<BatchAnalysisItem> failedItems = new ArrayList<>();
+        List<ScoredAnalysis> toSave = new ArrayList<>();
+        for (int i = 0; i < resumes.size(); i++) {
+            String fileName = resumes.get(i).getOriginalFilename();
+            try {
+                ScoredAnalysis scored = futures.get(i).join();
+                toSave.add(scored);
+                scoredItems.add(BatchAnalysisItem.builder()
+                        .fileName(fileName)
+                        .success(true)
+                        .analysis(scored.response())
+                        .build());
+            } catch (CompletionException e) {
+                failedItems.add(BatchAnalysisItem.builder()
+                        .fileName(fileName)
+                        .success(false)
+                        .error(describe(fileName, e.getCause()))
+                        .build());
+            }
+        }
+
+        if (!toSave.isEmpty()) {
+            List<Analysis> saved = analysisRepository.saveAll(toSave.stream().map(ScoredAnalysis::analysis).toList());
+            for (int i = 0; i < saved.size(); i++) {
+                analyzerService.onSaved(toSave.get(i), saved.get(i));
+            }
+        }
+
+        scoredItems.sort(Comparator
+                .comparing((BatchAnalysisItem item) -> item.getAnalysis().getMatchPercentage(), Comparator.reverseOrder())
+                .thenComparing(item -> item.getAnalysis().getResumeScore(), Comparator.reverseOrder()));
+        for (int i = 0; i < scoredItems.size(); i++) {
+            scoredItems.get(i).setRank(i + 1);
+        }
+
+        List<BatchAnalysisItem> results = new ArrayList<>(scoredItems);
+        results.addAll(failedItems);
+        return BatchAnalysisResponse.builder()
+                .total(resumes.size())
+                .succeeded(scoredItems.size())
+                .failed(failedItems.size())
+                .results(results)
+                .build();
+    }
+
+    private ScoredAnalysis score(MultipartFile resume, String jobDescription, User user) {
+        try {
+            return analyzerService.score(resume, jobDescription, user);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String describe(String fileName, Throwable cause) {
+        if (cause instanceof InvalidFileException || cause instanceof TooManyRequestsException) {
+            return cause.getMessage();
+        }
+        log.warn("Batch analysis failed for file {}: {}", fileName, cause.toString());
+        return "Failed to analyze file";
+    }
+}
@@ -0,0 +1,169 @@
+package com.resumeanalyzer.service;
+
+import com.resumeanalyzer.repository.AnalysisRepository;
+import com.resumeanalyzer.repository.AnalysisText;
+import com.resumeanalyzer.util.CosineSimilarity;
+import com.resumeanalyzer.util.DocumentFrequencyTable;
+import com.resumeanalyzer.util.TermDictionary;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Loads and periodically persists the corpus document frequencies used for TF-IDF weighting.
+ * On startup the table is restored from the last snapshot if its document count matches the stored
+ * analyses; otherwise (no snapshot, a crash between snapshots, deletes since) it is rebuilt from them.
+ * The rebuild counts into a separate table and is then merged into the live one, so analyses served
+ * meanwhile keep their counts. Snapshots are written atomically (temp file + move) and only when the
+ * table changed.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DocumentFrequencySnapshotService {
+
+    private static final int REBUILD_PAGE_SIZE = 500;
+    private static final String DOCUMENTS_KEY = "#documents";
+
+    private final DocumentFrequencyTable documentFrequencies;
+    private final CosineSimilarity cosineSimilarity;
+    private final AnalysisRepository analysisRepository;
+    private final TermDictionary termDictionary;
+
+    @Value("${app.analysis.df-snapshot.path:}")
+    private String snapshotPath;
+
+    private volatile long lastWrittenModification = -1;
+
+    private record Snapshot(long documents, Map<String, Integer> frequencies) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        Path path = path();
+        if (path != null && Files.isRegularFile(path)) {
+            try {
+                Snapshot snapshot = read(path);
+                DocumentFrequencyTable baseline = documentFrequencies.copy();
+                long stored = analysisRepository.count();
+                // Analyses served since boot are already in the live table and in the count
+                if (snapshot.documents() + baseline.documentCount() == stored) {
+                    DocumentFrequencyTable restored = new DocumentFrequencyTable(termDictionary);
+                    restored.restore(snapshot.documents(), snapshot.frequencies());
+                    documentFrequencies.replace(restored, baseline);
+                    lastWrittenModification = documentFrequencies.modificationCount();
+                    log.info("Restored document frequencies for {} documents from {}", snapshot.documents(), path);
+                    return;
+                }
+                log.info("Document frequency snapshot {} covers {} documents but {} are stored; rebuilding",
+                        path, snapshot.documents(), stored);
+            } catch (IOException | RuntimeException e) {
+                log.warn("Could not read document frequency snapshot {}: {}", path, e.getMessage());
+            }
+        }
+        rebuildFromRepository();
+        snapshot();
+    }
+
+    @Scheduled(fixedDelayString = "${app.analysis.df-snapshot.interval-ms:300000}",
+            initialDelayString = "${app.analysis.df-snapshot.interval-ms:300000}")
+    public void snapshot() {
+        Path path = path();
+        long modification = documentFrequencies.modificationCount();
+        if (path == null || modification == lastWrittenModification) return;
+        try {
+            write(path);
+            lastWrittenModification = modification;
+        } catch (IOException e) {
+            log.warn("Could not write document frequency snapshot {}: {}", path, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        snapshot();
+    }
+
+    private void rebuildFromRepository() {
+        DocumentFrequencyTable baseline = documentFrequencies.copy();
+        Long maxId = analysisRepository.findMaxId();
+        DocumentFrequencyTable rebuilt = new DocumentFrequencyTable(termDictionary);
+        Slice<AnalysisText> slice;
+        int pageNumber = 0;
+        do {
+            slice = analysisRepository.findResumeTexts(PageRequest.of(pageNumber++, REBUILD_PAGE_SIZE));
+            for (AnalysisText row : slice) {
+                // Saved since the rebuild started: already counted in the live table
+                if (maxId == null || row.getId() > maxId) continue;
+                rebuilt.addDocument(cosineSimilarity.vectorize(row.getResumeText()));
+            }
+        } while (slice.hasNext());
+        documentFrequencies.replace(rebuilt, baseline);
+        log.info("Rebuilt document frequencies from {} stored analyses", rebuilt.documentCount());
+    }
+
+    private Snapshot read(Path path) throws IOException {
+        Map<String, Integer> frequencies = new HashMap<>();
+        long documents = 0;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(path)), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int tab = line.indexOf('\t');
+                if (tab <= 0) continue;
+                String term = line.substring(0, tab);
+                long value = Long.parseLong(line.substring(tab + 1));
+                if (DOCUMENTS_KEY.equals(term)) {
+                    documents = value;
+                } else {
+                    frequencies.put(term, (int) value);
+                }
+            }
+        }
+        return new Snapshot(documents, frequencies);
+    }
+
+    private void write(Path path) throws IOException {
+        long documents = documentFrequencies.documentCount();
+        Map<String, Integer> frequencies = documentFrequencies.snapshot();
+        Path parent = path.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+        try (BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(
+                new GZIPOutputStream(Files.newOutputStream(temp)), StandardCharsets.UTF_8))) {
+            writer.write(DOCUMENTS_KEY + "\t" + documents + "\n");
+            for (Map.Entry<String, Integer> e : frequencies.entrySet()) {
+                writer.write(e.getKey());
+                writer.write('\t');
+                writer.write(Integer.toString(e.getValue()));
+                writer.write('\n');
+            }
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private Path path() {
+        return snapshotPath == null || snapshotPath.isBlank() ? null : Path.of(snapshotPath);
+    }
+}
@@ -0,0 +1,261 @@
+package com.resumeanalyzer.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Text extracted from uploaded files, keyed by the SHA-256 of the upload bytes, so re-uploading the
+ * same file (typically against another job description) skips parsing.
+ * <p>
+ * Two tiers: an LRU map bounded by an estimate of retained bytes, and an optional directory of
+ * gzipped entries that survives restarts and can be shared by instances on one host. Disk entries are
+ * written to a temp file and moved into place, so concurrent writers and readers never see a partial
+ * entry; a disk hit touches the file, and a periodic prune removes the least recently used ones
+ * beyond the disk budget. Disk errors are logged and treated as misses.
+ * <p>
+ * The disk tier holds full resume text, so it is off unless a directory is configured. Entries stay
+ * until pruned for space or evicted when an analysis of that upload is deleted.
+ */
+@Component
+@Slf4j
+public class ExtractionCache implements MeterBinder {
+
+    // Part of every disk path; bump when extraction output changes so stale entries are never read
+    private static final String FORMAT_VERSION = "v1";
+    private static final long ENTRY_OVERHEAD_BYTES = 200;
+
+    /**
+     * Detected content type and extracted text of one upload.
+     */
+    public record Extraction(String contentType, String text) {
+
+        long estimatedBytes() {
+            return ENTRY_OVERHEAD_BYTES + 2L * text.length();
+        }
+    }
+
+    private final long maxWeightBytes;
+    private final Path directory;
+    private final long diskMaxBytes;
+
+    private final LinkedHashMap<String, Extraction> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long weightBytes;
+    private final LongAdder memoryHits = new LongAdder();
+    private final LongAdder diskHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public ExtractionCache(@Value("${app.extraction.cache.max-bytes:33554432}") long maxWeightBytes,
+                           @Value("${app.extraction.cache.dir:}") String directory,
+                           @Value("${app.extraction.cache.disk-max-bytes:268435456}") long diskMaxBytes) {
+        this.maxWeightBytes = maxWeightBytes;
+        this.directory = directory == null || directory.isBlank() ? null : Path.of(directory).resolve(FORMAT_VERSION);
+        this.diskMaxBytes = diskMaxBytes;
+    }
+
+    public static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public static String key(MessageDigest digest) {
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    public Optional<Extraction> get(String key) {
+        synchronized (this) {
+            Extraction cached = entries.get(key);
+            if (cached != null) {
+                memoryHits.increment();
+                return Optional.of(cached);
+            }
+        }
+        Extraction stored = readFromDisk(key);
+        if (stored == null) {
+            misses.increment();
+            return Optional.empty();
+        }
+        diskHits.increment();
+        putInMemory(key, stored);
+        return Optional.of(stored);
+    }
+
+    public void put(String key, Extraction extraction) {
+        putInMemory(key, extraction);
+        writeToDisk(key, extraction);
+    }
+
+    /**
+     * Forget an upload's text in both tiers, e.g. because the analysis it belonged to was deleted.
+     */
+    public void evict(String key) {
+        synchronized (this) {
+            Extraction removed = entries.remove(key);
+            if (removed != null) weightBytes -= removed.estimatedBytes();
+        }
+        if (directory == null) return;
+        Path path = path(key);
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Could not delete extraction cache entry {}: {}", path, e.getMessage());
+        }
+    }
+
+    /**
+     * Delete the least recently used disk entries until the directory fits the disk budget.
+     */
+    @Scheduled(fixedDelayString = "${app.extraction.cache.prune-interval-ms:600000}",
+            initialDelayString = "${app.extraction.cache.prune-interval-ms:600000}")
+    public void prune() {
+        if (directory == null || !Files.isDirectory(directory)) return;
+        record StoredEntry(Path path, long size, FileTime lastUsed) {
+        }
+        List<StoredEntry> stored = new ArrayList<>();
+        long total = 0;
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Iterator<Path> it = files.iterator(); it.hasNext(); ) {
+                Path path = it.next();
+                if (!path.toString().endsWith(".gz")) continue;
+                try {
+                    BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                    stored.add(new StoredEntry(path, attributes.size(), attributes.lastModifiedTime()));
+                    total += attributes.size();
+                } catch (NoSuchFileException e) {
+                    // Pruned by another instance
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not scan extraction cache {}: {}", directory, e.getMessage());
+            return;
+        }
+        if (total <= diskMaxBytes) return;
+
+        stored.sort(Comparator.comparing(StoredEntry::lastUsed));
+        int deleted = 0;
+        for (StoredEntry entry : stored) {
+            if (total <= diskMaxBytes) break;
+            try {
+                Files.deleteIfExists(entry.path());
+                total -= entry.size();
+                deleted++;
+            } catch (IOException e) {
+                log.debug("Could not delete extraction cache entry {}: {}", entry.path(), e.getMessage());
+            }
+        }
+        log.info("Pruned {} extraction cache entries from {}", deleted, directory);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("analysis.extraction.cache.requests", memoryHits, LongAdder::sum)
+                .tag("result", "memory_hit").register(registry);
+        FunctionCounter.builder("analysis.extraction.cache.requests", diskHits, LongAdder::sum)
+                .tag("result", "disk_hit").register(registry);
+        FunctionCounter.builder("analysis.extraction.cache.requests", misses, LongAdder::sum)
+                .tag("result", "miss").register(registry);
+        Gauge.builder("analysis.extraction.cache.weight", this, cache -> cache.weightBytes())
+                .baseUnit("bytes").register(registry);
+    }
+
+    private synchronized long weightBytes() {
+        return weightBytes;
+    }
+
+    private synchronized void putInMemory(String key, Extraction extraction) {
+        long weight = extraction.estimatedBytes();
+        if (weight > maxWeightBytes) return;
+        Extraction previous = entries.put(key, extraction);
+        if (previous != null) weightBytes -= previous.estimatedBytes();
+        weightBytes += weight;
+        Iterator<Extraction> eldest = entries.values().iterator();
+        while (weightBytes > maxWeightBytes && eldest.hasNext()) {
+            weightBytes -= eldest.next().estimatedBytes();
+            eldest.remove();
+        }
+    }
+
+    private Path path(String key) {
+        return directory.resolve(key.substring(0, 2)).resolve(key + ".gz");
+    }
+
+    /**
+     * Entry file: content type on the first line, then the text.
+     */
+    private Extraction readFromDisk(String key) {
+        if (directory == null) return null;
+        Path path = path(key);
+        if (!Files.isRegularFile(path)) return null;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(path)), StandardCharsets.UTF_8))) {
+            String contentType = reader.readLine();
+            StringBuilder text = new StringBuilder();
+            char[] buffer = new char[8192];
+            int read;
+            while ((read = reader.read(buffer)) != -1) {
+                text.append(buffer, 0, read);
+            }
+            Files.setLastModifiedTime(path, FileTime.fromMillis(System.currentTimeMillis()));
+            return contentType == null ? null : new Extraction(contentType, text.toString());
+        } catch (IOException | RuntimeException e) {
+            log.debug("Could not read extraction cache entry {}: {}", path, e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeToDisk(String key, Extraction extraction) {
+        if (directory == null) return;
+        Path path = path(key);
+        try {
+            Files.createDirectories(path.getParent());
+            Path temp = Files.createTempFile(path.getParent(), key, ".tmp");
+            try {
+                try (Writer writer = new OutputStreamWriter(
+                        new GZIPOutputStream(Files.newOutputStream(temp)), StandardCharsets.UTF_8)) {
+                    writer.write(extraction.contentType());
+                    writer.write('\n');
+                    writer.write(extraction.text());
+                }
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not write extraction cache entry {}: {}", path, e.getMessage());
+        }
+    }
+}
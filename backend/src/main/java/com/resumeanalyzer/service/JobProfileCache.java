@@ -0,0 +1,130 @@
+package com.resumeanalyzer.service;
+
+import com.resumeanalyzer.util.SparseVector;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Bounded LRU cache of precomputed job description profiles (skills and term vector), keyed by a
+ * SHA-256 fingerprint of the normalized job description text. Entries are weighed by their
+ * approximate heap size and evicted least-recently-used first once the byte budget is exceeded.
+ * Profiles are built outside the lock, so concurrent misses on the same key may both compute it.
+ */
+@Component
+public class JobProfileCache implements MeterBinder {
+
+    private static final long ENTRY_OVERHEAD_BYTES = 160;
+    private static final long SKILL_BYTES = 64;
+
+    /**
+     * Everything about a job description that does not depend on the resume.
+     */
+    public record JobProfile(Set<String> skills, SparseVector vector) {
+
+        long estimatedBytes() {
+            return ENTRY_OVERHEAD_BYTES + skills.size() * SKILL_BYTES + vector.estimatedBytes();
+        }
+    }
+
+    public record Stats(long hits, long misses, long evictions, int size, long weightBytes) {
+    }
+
+    private final long maxWeightBytes;
+    private final LinkedHashMap<String, JobProfile> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long weightBytes;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public JobProfileCache(@Value("${app.analysis.jd-cache.max-bytes:16777216}") long maxWeightBytes) {
+        this.maxWeightBytes = maxWeightBytes;
+    }
+
+    /**
+     * Cached profile for the normalized job description, built with {@code loader} on a miss.
+     */
+    public JobProfile get(String normalizedJobDescription, Function<String, JobProfile> loader) {
+        String key = fingerprint(normalizedJobDescription);
+        synchronized (this) {
+            JobProfile cached = entries.get(key);
+            if (cached != null) {
+                hits.increment();
+                return cached;
+            }
+        }
+        misses.increment();
+        JobProfile profile = loader.apply(normalizedJobDescription);
+        put(key, profile);
+        return profile;
+    }
+
+    /**
+     * Cached skills were extracted with the previous taxonomy.
+     */
+    @EventListener(SkillTaxonomyReloadedEvent.class)
+    public synchronized void clear() {
+        entries.clear();
+        weightBytes = 0;
+    }
+
+    public Stats stats() {
+        synchronized (this) {
+            return new Stats(hits.sum(), misses.sum(), evictions.sum(), entries.size(), weightBytes);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("analysis.jd.cache.requests", hits, LongAdder::sum)
+                .tag("result", "hit").register(registry);
+        FunctionCounter.builder("analysis.jd.cache.requests", misses, LongAdder::sum)
+                .tag("result", "miss").register(registry);
+        FunctionCounter.builder("analysis.jd.cache.evictions", evictions, LongAdder::sum).register(registry);
+        Gauge.builder("analysis.jd.cache.size", this, cache -> cache.stats().size()).register(registry);
+        Gauge.builder("analysis.jd.cache.weight", this, cache -> cache.stats().weightBytes())
+                .baseUnit("bytes").register(registry);
+    }
+
+    private synchronized void put(String key, JobProfile profile) {
+        long weight = profile.estimatedBytes();
+        if (weight > maxWeightBytes) return;
+        JobProfile previous = entries.put(key, profile);
+        if (previous != null) weightBytes -= previous.estimatedBytes();
+        weightBytes += weight;
+
+        Iterator<Map.Entry<String, JobProfile>> it = entries.entrySet().iterator();
+        while (weightBytes > maxWeightBytes && it.hasNext()) {
+            Map.Entry<String, JobProfile> eldest = it.next();
+            weightBytes -= eldest.getValue().estimatedBytes();
+            it.remove();
+            evictions.increment();
+        }
+    }
+
+    static String fingerprint(String normalizedText) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(normalizedText.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
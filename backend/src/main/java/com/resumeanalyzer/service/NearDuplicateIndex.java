@@ -0,0 +1,166 @@
+package com.resumeanalyzer.service;
+
+import com.resumeanalyzer.repository.AnalysisRepository;
+import com.resumeanalyzer.repository.AnalysisSignature;
+import com.resumeanalyzer.util.MinHasher;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Locality-sensitive hashing index over resume MinHash signatures, scoped per user.
+ * <p>
+ * Signatures are split into {@value #BANDS} bands of {@value #ROWS} rows; two resumes become candidates
+ * when any band hashes to the same bucket, which happens with high probability above roughly 0.7 Jaccard
+ * similarity. Candidates are then verified against the full signature. The index is rebuilt at startup
+ * from the persisted signatures, so no resume text has to be read or re-tokenized.
+ */
+@Component
+@Slf4j
+public class NearDuplicateIndex {
+
+    private static final int BANDS = 16;
+    private static final int ROWS = MinHasher.NUM_HASHES / BANDS;
+    private static final int REBUILD_PAGE_SIZE = 1000;
+
+    /**
+     * A previous analysis whose resume is estimated to be {@code similarity} similar (Jaccard) to the query.
+     */
+    public record Match(long analysisId, double similarity) {
+    }
+
+    private record Entry(long userId, int[] signature) {
+    }
+
+    private final AnalysisRepository analysisRepository;
+    private final double flagThreshold;
+    private final double reuseThreshold;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, List<Long>> buckets = new HashMap<>();
+    private final Map<Long, Entry> entries = new HashMap<>();
+
+    public NearDuplicateIndex(AnalysisRepository analysisRepository,
+                              @Value("${app.analysis.duplicates.flag-threshold:0.8}") double flagThreshold,
+                              @Value("${app.analysis.duplicates.reuse-threshold:0.95}") double reuseThreshold) {
+        this.analysisRepository = analysisRepository;
+        this.flagThreshold = flagThreshold;
+        this.reuseThreshold = reuseThreshold;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        Slice<AnalysisSignature> slice;
+        int pageNumber = 0;
+        do {
+            slice = analysisRepository.findSignatures(PageRequest.of(pageNumber++, REBUILD_PAGE_SIZE));
+            for (AnalysisSignature row : slice) {
+                int[] signature = MinHasher.decode(row.getMinhashSignature());
+                if (signature != null) add(row.getId(), row.getUserId(), signature);
+            }
+        } while (slice.hasNext());
+        log.info("Near-duplicate index built with {} signatures", size());
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Most similar previous resume of the user at or above the flag threshold.
+     */
+    public Optional<Match> findNearDuplicate(long userId, int[] signature) {
+        if (signature == null) return Optional.empty();
+        lock.readLock().lock();
+        try {
+            Set<Long> seen = new HashSet<>();
+            Match best = null;
+            for (int band = 0; band < BANDS; band++) {
+                List<Long> bucket = buckets.get(bucketKey(userId, band, signature));
+                if (bucket == null) continue;
+                for (long analysisId : bucket) {
+                    if (!seen.add(analysisId)) continue;
+                    Entry entry = entries.get(analysisId);
+                    // Bucket keys can collide across users; the entry is authoritative
+                    if (entry == null || entry.userId() != userId) continue;
+                    double similarity = MinHasher.similarity(signature, entry.signature());
+                    if (similarity >= flagThreshold && (best == null || similarity > best.similarity())) {
+                        best = new Match(analysisId, similarity);
+                    }
+                }
+            }
+            return Optional.ofNullable(best);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Whether a match is close enough to be worth checking for reuse of the earlier analysis; the caller
+     * still has to confirm the resume yields the same skills and features.
+     */
+    public boolean isReusable(Match match) {
+        return match.similarity() >= reuseThreshold;
+    }
+
+    public void add(long analysisId, long userId, int[] signature) {
+        if (signature == null) return;
+        lock.writeLock().lock();
+        try {
+            removeLocked(analysisId);
+            entries.put(analysisId, new Entry(userId, signature));
+            for (int band = 0; band < BANDS; band++) {
+                buckets.computeIfAbsent(bucketKey(userId, band, signature), key -> new ArrayList<>(1)).add(analysisId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long analysisId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(analysisId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeLocked(long analysisId) {
+        Entry entry = entries.remove(analysisId);
+        if (entry == null) return;
+        for (int band = 0; band < BANDS; band++) {
+            long key = bucketKey(entry.userId(), band, entry.signature());
+            List<Long> bucket = buckets.get(key);
+            if (bucket == null) continue;
+            bucket.remove(Long.valueOf(analysisId));
+            if (bucket.isEmpty()) buckets.remove(key);
+        }
+    }
+
+    private static long bucketKey(long userId, int band, int[] signature) {
+        long h = userId * 0x9E3779B97F4A7C15L + band;
+        for (int row = band * ROWS; row < (band + 1) * ROWS; row++) {
+            h = (h ^ signature[row]) * 0x100000001b3L;
+        }
+        return h ^ (h >>> 29);
+    }
+}
@@ -0,0 +1,142 @@
+package com.resumeanalyzer.service;
+
+import com.resumeanalyzer.exception.InvalidTokenException;
+import com.resumeanalyzer.model.RefreshToken;
+import com.resumeanalyzer.model.User;
+import com.resumeanalyzer.repository.RefreshTokenRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Issues and rotates refresh tokens, so clients renew their short-lived access token without sending
+ * the password (and without a BCrypt verification). Tokens are 256 random bits; the digest stored for
+ * lookup is a plain SHA-256, which is enough for values that cannot be guessed.
+ */
+@Service
+@Slf4j
+public class RefreshTokenService implements MeterBinder {
+
+    private static final int TOKEN_BYTES = 32;
+    private static final String INVALID = "Refresh token is invalid or expired, please log in again";
+
+    /**
+     * The user the token belonged to, and the token that replaces it.
+     */
+    public record Rotation(User user, String refreshToken) {
+    }
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final Duration lifetime;
+    private final SecureRandom random = new SecureRandom();
+
+    private final LongAdder rotated = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder reused = new LongAdder();
+
+    @Autowired
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository,
+                               @Value("${app.jwt.refresh-expiration-ms:2592000000}") long lifetimeMs) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.lifetime = Duration.ofMillis(lifetimeMs);
+    }
+
+    /**
+     * New token starting a new family, e.g. at login.
+     */
+    public String issue(User user) {
+        return issue(user, UUID.randomUUID().toString());
+    }
+
+    /**
+     * Exchange a refresh token for a new one in the same family. A token presented a second time
+     * revokes its family: the legitimate client and whoever copied the token both lose it.
+     */
+    @Transactional(noRollbackFor = InvalidTokenException.class)
+    public Rotation rotate(String presented) {
+        RefreshToken current = refreshTokenRepository.findByTokenHash(digest(presented)).orElse(null);
+        LocalDateTime now = LocalDateTime.now();
+        if (current == null || current.isRevoked() || current.getExpiresAt().isBefore(now)) {
+            rejected.increment();
+            throw new InvalidTokenException(INVALID);
+        }
+        if (current.getUsedAt() != null || refreshTokenRepository.markUsed(current.getId(), now) == 0) {
+            reused.increment();
+            refreshTokenRepository.revokeFamily(current.getFamilyId());
+            log.warn("Refresh token reuse for user {}; revoked token family {}",
+                    current.getUser().getId(), current.getFamilyId());
+            throw new InvalidTokenException(INVALID);
+        }
+        rotated.increment();
+        return new Rotation(current.getUser(), issue(current.getUser(), current.getFamilyId()));
+    }
+
+    /**
+     * Revoke the family of the presented token, e.g. at logout. Unknown tokens are ignored so logout
+     * always succeeds.
+     */
+    @Transactional
+    public void revoke(String presented) {
+        refreshTokenRepository.findByTokenHash(digest(presented))
+                .ifPresent(token -> refreshTokenRepository.revokeFamily(token.getFamilyId()));
+    }
+
+    @Transactional
+    public void revokeAll(Long userId) {
+        refreshTokenRepository.revokeAllForUser(userId);
+    }
+
+    @Scheduled(fixedDelayString = "${app.jwt.refresh-purge-interval-ms:3600000}",
+            initialDelayString = "${app.jwt.refresh-purge-interval-ms:3600000}")
+    @Transactional
+    public void purgeExpired() {
+        int purged = refreshTokenRepository.deleteExpiredBefore(LocalDateTime.now());
+        if (purged > 0) log.info("Purged {} expired refresh tokens", purged);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("auth.refresh", rotated, LongAdder::sum).tag("result", "rotated").register(registry);
+        FunctionCounter.builder("auth.refresh", rejected, LongAdder::sum).tag("result", "invalid").register(registry);
+        FunctionCounter.builder("auth.refresh", reused, LongAdder::sum).tag("result", "reused").register(registry);
+    }
+
+    private String issue(User user, String familyId) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        refreshTokenRepository.save(RefreshToken.builder()
+                .tokenHash(digest(token))
+                .familyId(familyId)
+                .user(user)
+                .expiresAt(LocalDateTime.now().plus(lifetime))
+                .build());
+        return token;
+    }
+
+    static String digest(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
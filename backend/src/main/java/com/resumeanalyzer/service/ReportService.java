@@ -1,6 +1,8 @@
 package com.resumeanalyzer.service;
 
 import com.resumeanalyzer.dto.AnalysisResponse;
+import com.resumeanalyzer.metrics.AnalysisMetrics;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDPage;
@@ -11,11 +13,13 @@ import org.springframework.stereotype.Service;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Generates PDF analysis report from AnalysisResponse using Apache PDFBox.
  */
 @Service
+@RequiredArgsConstructor
 @Slf4j
 public class ReportService {
 
@@ -25,7 +29,17 @@ public class ReportService {
     private static final float HEADING_SIZE = 14;
     private static final float BODY_SIZE = 11;
 
+    private final AnalysisMetrics metrics;
+
     public byte[] generatePdf(AnalysisResponse response, String userName) throws IOException {
+        long start = System.nanoTime();
+        byte[] pdf = render(response, userName);
+        metrics.timer(AnalysisMetrics.Stage.REPORT, AnalysisMetrics.ContentType.PDF, AnalysisMetrics.SizeBucket.of(pdf.length))
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return pdf;
+    }
+
+    private byte[] render(AnalysisResponse response, String userName) throws IOException {
         try (PDDocument doc = new PDDocument();
              ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
 
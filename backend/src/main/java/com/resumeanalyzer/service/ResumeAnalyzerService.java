@@ -1,22 +1,32 @@
 package com.resumeanalyzer.service;
 
 import com.resumeanalyzer.dto.AnalysisResponse;
+import com.resumeanalyzer.dto.ResumeSearchResult;
+import com.resumeanalyzer.metrics.AnalysisMetrics;
+import com.resumeanalyzer.metrics.AnalysisMetrics.Stage;
 import com.resumeanalyzer.model.Analysis;
 import com.resumeanalyzer.model.User;
 import com.resumeanalyzer.repository.AnalysisRepository;
 import com.resumeanalyzer.util.*;
+import com.resumeanalyzer.util.ResumeFeatures.KeywordGroup;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.InputStreamSource;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.*;
 import java.util.stream.Collectors;
 
 /**
  * Core analysis engine: extract text, skills, match %, resume score, suggestions.
+ * <p>
+ * Analysis is deliberately not transactional: parsing and scoring can take seconds and must not hold
+ * a pooled connection. Only the repository calls (the near-duplicate lookup and the final save) take
+ * one, each in its own short transaction.
  */
 @Service
 @RequiredArgsConstructor
@@ -28,84 +38,190 @@ public class ResumeAnalyzerService {
     private final SkillDataset skillDataset;
     private final CosineSimilarity cosineSimilarity;
     private final AnalysisRepository analysisRepository;
+    private final JobProfileCache jobProfileCache;
+    private final ResumeSearchIndex searchIndex;
+    private final NearDuplicateIndex nearDuplicateIndex;
+    private final AnalysisMetrics metrics;
+    private final ExtractionCache extractionCache;
+    private final UploadReader uploadReader;
 
     private static final double SKILL_WEIGHT = 0.6;
     private static final double COSINE_WEIGHT = 0.4;
     private static final int MIN_RESUME_WORDS = 100;
 
-    // Keywords for resume score components
-    private static final Set<String> EXPERIENCE_KEYWORDS = Set.of(
-            "experience", "worked", "years", "responsible", "led", "managed", "developed", "engineer", "developer"
-    );
-    private static final Set<String> PROJECT_KEYWORDS = Set.of(
-            "project", "projects", "built", "implemented", "designed", "portfolio"
-    );
-    private static final Set<String> EDUCATION_KEYWORDS = Set.of(
-            "education", "degree", "bachelor", "master", "university", "college", "bsc", "msc", "btech", "mtech"
-    );
-    private static final Set<String> CERTIFICATION_KEYWORDS = Set.of(
-            "certification", "certified", "certificate", "aws", "azure", "google", "oracle"
-    );
+    /**
+     * Version of the derived artifacts stored on each analysis (skills, suggestions, readability, ATS flag).
+     * Bump it whenever scoring changes what they would contain; older analyses are recomputed on next view.
+     */
+    public static final int ARTIFACT_VERSION = 2;
 
     /**
      * Analyze resume file against job description and persist result.
      */
-    @Transactional
     public AnalysisResponse analyze(MultipartFile resume, String jobDescription, User user) throws IOException {
+        AnalysisMetrics.Sample sample = startSample(resume);
+        ExtractedUpload upload = extractText(resume, sample);
+        return analyzeText(upload.text(), upload.key(), jobDescription, user, sample);
+    }
+
+    /**
+     * Analyze resume file contents (e.g. an upload stored with an asynchronous job) and persist result.
+     */
+    public AnalysisResponse analyze(byte[] resume, String jobDescription, User user) throws IOException {
+        AnalysisMetrics.Sample sample = metrics.start(AnalysisMetrics.ContentType.OTHER, resume == null ? 0 : resume.length);
+        if (resume == null || resume.length == 0) {
+            throw new com.resumeanalyzer.exception.InvalidFileException("Resume file is required");
+        }
+        ExtractedUpload upload = extractText(new ByteArrayResource(resume), resume.length, sample);
+        return analyzeText(upload.text(), upload.key(), jobDescription, user, sample);
+    }
+
+    /**
+     * Score an uploaded resume against the job description without persisting anything.
+     * The returned entity is unsaved and the response has no analysis id yet.
+     */
+    public ScoredAnalysis score(MultipartFile resume, String jobDescription, User user) throws IOException {
+        AnalysisMetrics.Sample sample = startSample(resume);
+        ExtractedUpload upload = extractText(resume, sample);
+        return score(upload.text(), upload.key(), jobDescription, user, sample);
+    }
+
+    /**
+     * Text scanned from an upload, and the upload's extraction cache key.
+     */
+    private record ExtractedUpload(ResumeTextAccumulator.Result text, String key) {
+    }
+
+    private ExtractedUpload extractText(MultipartFile resume, AnalysisMetrics.Sample sample)
+            throws IOException {
         if (resume == null || resume.isEmpty()) {
             throw new com.resumeanalyzer.exception.InvalidFileException("Resume file is required");
         }
+        return extractText(resume, resume.getSize(), sample);
+    }
 
-        String contentType = textExtractor.detectContentType(resume.getInputStream());
-        String resumeText = textExtractor.extractText(resume.getInputStream(), contentType);
-        return analyzeText(resumeText, jobDescription, user);
+    /**
+     * The upload is read once: sniffed, size-checked and hashed as it streams, then parsed from the
+     * buffer. A file uploaded before is served from the extraction cache without running Tika.
+     * Either way the text is scanned for scoring as it is delivered, rather than tokenized afterwards.
+     */
+    private ExtractedUpload extractText(InputStreamSource resume, long declaredSize,
+                                        AnalysisMetrics.Sample sample) throws IOException {
+        UploadReader.Upload upload;
+        try (InputStream in = resume.getInputStream()) {
+            upload = uploadReader.read(in, declaredSize);
+        }
+        sample.contentType(upload.contentType());
+        Optional<ExtractionCache.Extraction> cached = extractionCache.get(upload.key());
+        sample.stage(Stage.READ);
+        if (cached.isPresent()) {
+            return new ExtractedUpload(scan(cached.get().text(), sample), upload.key());
+        }
+
+        ResumeTextAccumulator accumulator = newAccumulator();
+        textExtractor.extractText(upload.stream(), upload.contentType(), accumulator);
+        ResumeTextAccumulator.Result result = accumulator.finish();
+        sample.stage(Stage.EXTRACT);
+        extractionCache.put(upload.key(), new ExtractionCache.Extraction(upload.contentType(), result.text()));
+        return new ExtractedUpload(result, upload.key());
+    }
+
+    private ResumeTextAccumulator newAccumulator() {
+        return new ResumeTextAccumulator(skillDataset, cosineSimilarity);
+    }
+
+    private ResumeTextAccumulator.Result scan(String resumeText, AnalysisMetrics.Sample sample) {
+        ResumeTextAccumulator.Result result = newAccumulator().append(resumeText == null ? "" : resumeText).finish();
+        sample.stage(Stage.TOKENIZE);
+        return result;
+    }
+
+    private AnalysisMetrics.Sample startSample(MultipartFile resume) {
+        return metrics.start(AnalysisMetrics.ContentType.OTHER, resume == null ? 0 : resume.getSize());
     }
 
     /**
      * Analyze raw resume text (e.g. for re-analysis from history).
+     * A near-duplicate of one of the user's previous resumes is flagged on the response; if it was
+     * analyzed against the same job description and its stored artifacts match the ones this resume
+     * yields, they are reused for the new analysis.
      */
-    @Transactional
     public AnalysisResponse analyzeText(String resumeText, String jobDescription, User user) {
-        String cleanedResume = textCleaner.clean(resumeText);
-        String cleanedJob = textCleaner.clean(jobDescription);
+        AnalysisMetrics.Sample sample = startSample(resumeText);
+        return analyzeText(scan(resumeText, sample), null, jobDescription, user, sample);
+    }
 
-        Set<String> jobSkills = extractSkills(cleanedJob);
-        Set<String> resumeSkills = extractSkills(cleanedResume);
+    private AnalysisResponse analyzeText(ResumeTextAccumulator.Result resumeText, String uploadKey,
+                                         String jobDescription, User user, AnalysisMetrics.Sample sample) {
+        Optional<NearDuplicateIndex.Match> duplicate =
+                nearDuplicateIndex.findNearDuplicate(user.getId(), resumeText.signature());
+        sample.stage(Stage.SIGNATURE);
+        Optional<ScoredAnalysis> reused = Optional.empty();
+        if (duplicate.isPresent() && nearDuplicateIndex.isReusable(duplicate.get())) {
+            reused = reuseAnalysis(duplicate.get(), resumeText, uploadKey, jobDescription, user);
+            if (reused.isEmpty()) sample.reset();
+        }
+        ScoredAnalysis scored = reused.isPresent()
+                ? reused.get()
+                : score(resumeText, uploadKey, jobDescription, user, sample);
+        Analysis analysis = analysisRepository.save(scored.analysis());
+        sample.stage(Stage.SAVE);
+        onSaved(scored, analysis);
+        sample.stage(Stage.INDEX);
+        duplicate.ifPresent(match -> flagDuplicate(scored.response(), match));
+        return scored.response();
+    }
+
+    /**
+     * Score resume text against the job description without persisting anything.
+     * The returned entity is unsaved and the response has no analysis id yet.
+     */
+    public ScoredAnalysis score(String resumeText, String jobDescription, User user) {
+        AnalysisMetrics.Sample sample = startSample(resumeText);
+        return score(scan(resumeText, sample), null, jobDescription, user, sample);
+    }
+
+    private AnalysisMetrics.Sample startSample(String resumeText) {
+        return metrics.start(AnalysisMetrics.ContentType.TEXT, resumeText == null ? 0 : resumeText.length());
+    }
+
+    private ScoredAnalysis score(ResumeTextAccumulator.Result resumeText, String uploadKey, String jobDescription,
+                                 User user, AnalysisMetrics.Sample sample) {
+        JobProfileCache.JobProfile jobProfile = jobProfile(jobDescription);
+        sample.stage(Stage.JOB_PROFILE);
+
+        Set<String> jobSkills = jobProfile.skills();
+        Set<String> resumeSkills = resumeText.skills();
         Set<String> matchedSkills = new HashSet<>(resumeSkills);
         matchedSkills.retainAll(jobSkills);
         Set<String> missingSkills = new HashSet<>(jobSkills);
         missingSkills.removeAll(resumeSkills);
+        sample.stage(Stage.SKILLS);
 
         double skillMatchRaw = jobSkills.isEmpty() ? 1.0 : (double) matchedSkills.size() / jobSkills.size();
         double skillMatchPercent = skillMatchRaw * 100;
 
-        double cosine = cosineSimilarity.similarity(resumeText, jobDescription);
+        SparseVector resumeVector = resumeText.vector();
+        double cosine = cosineSimilarity.similarity(resumeVector, jobProfile.vector());
         double cosinePercent = cosine * 100;
+        sample.stage(Stage.COSINE);
 
-        double finalMatchPercent = (SKILL_WEIGHT * skillMatchPercent) + (COSINE_WEIGHT * cosinePercent);
-        finalMatchPercent = Math.round(finalMatchPercent * 10) / 10.0;
+        double finalMatchPercent = matchPercentage(skillMatchPercent, cosinePercent);
 
-        double resumeScore = computeResumeScore(resumeText, cleanedResume, matchedSkills, jobSkills);
+        ResumeFeatures features = resumeText.features();
+        double resumeScore = computeResumeScore(features, matchedSkills, jobSkills);
         resumeScore = Math.round(resumeScore * 10) / 10.0;
 
-        double readabilityScore = computeReadabilityScore(resumeText);
-        boolean atsCompatible = isAtsFriendly(resumeText);
+        double readabilityScore = computeReadabilityScore(features);
+        boolean atsCompatible = isAtsFriendly(features);
 
-        List<String> suggestions = buildSuggestions(
-                resumeText, cleanedResume, matchedSkills, missingSkills, jobSkills
-        );
+        List<String> suggestions = buildSuggestions(features, missingSkills);
+        sample.stage(Stage.FEATURES);
 
-        Analysis analysis = Analysis.builder()
+        return scored(Analysis.builder()
                 .user(user)
                 .jobDescription(jobDescription)
-                .resumeText(resumeText)
-                .matchPercentage(finalMatchPercent)
-                .resumeScore(resumeScore)
-                .build();
-        analysis = analysisRepository.save(analysis);
-
-        return AnalysisResponse.builder()
-                .analysisId(analysis.getId())
+                .resumeText(resumeText.text())
                 .matchPercentage(finalMatchPercent)
                 .resumeScore(resumeScore)
                 .matchedSkills(new ArrayList<>(matchedSkills))
@@ -113,61 +229,162 @@ public class ResumeAnalyzerService {
                 .suggestions(suggestions)
                 .readabilityScore(readabilityScore)
                 .atsCompatible(atsCompatible)
+                .artifactVersion(ARTIFACT_VERSION)
+                .minhashSignature(MinHasher.encode(resumeText.signature()))
+                .uploadHash(uploadKey)
+                .build(), resumeText);
+    }
+
+    private ScoredAnalysis scored(Analysis analysis, ResumeTextAccumulator.Result resumeText) {
+        AnalysisResponse response = AnalysisResponse.builder()
+                .matchPercentage(analysis.getMatchPercentage())
+                .resumeScore(analysis.getResumeScore())
+                .matchedSkills(new ArrayList<>(analysis.getMatchedSkills()))
+                .missingSkills(new ArrayList<>(analysis.getMissingSkills()))
+                .suggestions(new ArrayList<>(analysis.getSuggestions()))
+                .readabilityScore(analysis.getReadabilityScore())
+                .atsCompatible(analysis.getAtsCompatible())
                 .build();
+        return new ScoredAnalysis(analysis, response, resumeText.vector(), resumeText.skills(), resumeText.signature());
+    }
+
+    private static double matchPercentage(double skillMatchPercent, double cosinePercent) {
+        double finalMatchPercent = (SKILL_WEIGHT * skillMatchPercent) + (COSINE_WEIGHT * cosinePercent);
+        return Math.round(finalMatchPercent * 10) / 10.0;
+    }
+
+    /**
+     * Bookkeeping once a scored analysis is persisted: response id, TF-IDF corpus statistics, search
+     * and near-duplicate indexes.
+     */
+    public void onSaved(ScoredAnalysis scored, Analysis saved) {
+        scored.response().setAnalysisId(saved.getId());
+        cosineSimilarity.addToCorpus(scored.resumeVector());
+        searchIndex.add(saved.getId(), saved.getUser().getId(), scored.resumeVector(), scored.resumeSkills());
+        nearDuplicateIndex.add(saved.getId(), saved.getUser().getId(), scored.signature());
+    }
+
+    /**
+     * New analysis of this resume that reuses the artifacts stored with the earlier one, if that was scored
+     * against the same (normalized) job description and this resume's skills and features give the same
+     * artifacts. Similar text alone is not enough: one added skill barely moves the Jaccard estimate but
+     * changes the matched and missing skills. The check only uses what the scan already produced and the
+     * cached job profile; the match percentage is recomputed, since its cosine part depends on the new text.
+     */
+    private Optional<ScoredAnalysis> reuseAnalysis(NearDuplicateIndex.Match match,
+                                                   ResumeTextAccumulator.Result resumeText, String uploadKey,
+                                                   String jobDescription, User user) {
+        String cleanedJob = textCleaner.clean(jobDescription);
+        Analysis previous = analysisRepository.findByIdAndUserId(match.analysisId(), user.getId())
+                .filter(a -> a.getArtifactVersion() != null && a.getArtifactVersion() == ARTIFACT_VERSION)
+                .filter(a -> textCleaner.clean(a.getJobDescription()).equals(cleanedJob))
+                .orElse(null);
+        if (previous == null) return Optional.empty();
+
+        JobProfileCache.JobProfile jobProfile = jobProfile(jobDescription);
+        Set<String> jobSkills = jobProfile.skills();
+        Set<String> matchedSkills = new HashSet<>(resumeText.skills());
+        matchedSkills.retainAll(jobSkills);
+        Set<String> missingSkills = new HashSet<>(jobSkills);
+        missingSkills.removeAll(resumeText.skills());
+        if (!matchedSkills.equals(new HashSet<>(previous.getMatchedSkills()))
+                || !missingSkills.equals(new HashSet<>(previous.getMissingSkills()))) {
+            return Optional.empty();
+        }
+
+        ResumeFeatures features = resumeText.features();
+        double resumeScore = Math.round(computeResumeScore(features, matchedSkills, jobSkills) * 10) / 10.0;
+        // Previous order, so the "top missing skills" suggestion names the same skills
+        List<String> suggestions = buildSuggestions(features, new LinkedHashSet<>(previous.getMissingSkills()));
+        if (!Objects.equals(resumeScore, previous.getResumeScore())
+                || !Objects.equals(computeReadabilityScore(features), previous.getReadabilityScore())
+                || !Objects.equals(isAtsFriendly(features), previous.getAtsCompatible())
+                || !suggestions.equals(previous.getSuggestions())) {
+            return Optional.empty();
+        }
+
+        double skillMatchPercent = jobSkills.isEmpty() ? 100.0 : 100.0 * matchedSkills.size() / jobSkills.size();
+        double cosinePercent = cosineSimilarity.similarity(resumeText.vector(), jobProfile.vector()) * 100;
+        log.debug("Reusing artifacts of analysis {} for near-duplicate resume (similarity {})",
+                previous.getId(), match.similarity());
+        return Optional.of(scored(Analysis.builder()
+                .user(user)
+                .jobDescription(jobDescription)
+                .resumeText(resumeText.text())
+                .matchPercentage(matchPercentage(skillMatchPercent, cosinePercent))
+                .resumeScore(previous.getResumeScore())
+                .matchedSkills(new ArrayList<>(previous.getMatchedSkills()))
+                .missingSkills(new ArrayList<>(previous.getMissingSkills()))
+                .suggestions(new ArrayList<>(previous.getSuggestions()))
+                .readabilityScore(previous.getReadabilityScore())
+                .atsCompatible(previous.getAtsCompatible())
+                .artifactVersion(ARTIFACT_VERSION)
+                .minhashSignature(MinHasher.encode(resumeText.signature()))
+                .uploadHash(uploadKey)
+                .build(), resumeText));
+    }
+
+    private static void flagDuplicate(AnalysisResponse response, NearDuplicateIndex.Match match) {
+        response.setDuplicateOfAnalysisId(match.analysisId());
+        response.setDuplicateSimilarity(Math.round(match.similarity() * 100) / 100.0);
+    }
+
+    /**
+     * Warm the job description profile cache before a batch fans out.
+     */
+    public void prepareJobDescription(String jobDescription) {
+        jobProfile(jobDescription);
     }
 
     private Set<String> extractSkills(String cleanedText) {
-        String lower = cleanedText.toLowerCase();
-        return skillDataset.getKnownSkills().stream()
-                .filter(skill -> lower.contains(skill))
-                .collect(Collectors.toSet());
+        return skillDataset.extractSkills(cleanedText);
+    }
+
+    /**
+     * Skills and term vector of the job description, shared across analyses of the same posting.
+     */
+    private JobProfileCache.JobProfile jobProfile(String jobDescription) {
+        return jobProfileCache.get(textCleaner.clean(jobDescription), cleanedJob ->
+                new JobProfileCache.JobProfile(
+                        Set.copyOf(extractSkills(cleanedJob)),
+                        cosineSimilarity.vectorize(cleanedJob)
+                ));
     }
 
     /**
      * Weighted score: skill match 40%, experience 20%, projects 15%, education 15%, certifications 10%.
      * Returns value in [0, 10].
      */
-    private double computeResumeScore(String rawResume, String cleanedResume, Set<String> matchedSkills, Set<String> jobSkills) {
+    private double computeResumeScore(ResumeFeatures features, Set<String> matchedSkills, Set<String> jobSkills) {
         double skillScore = jobSkills.isEmpty() ? 1.0 : (double) matchedSkills.size() / jobSkills.size();
-        String lower = rawResume.toLowerCase();
 
-        double experienceScore = EXPERIENCE_KEYWORDS.stream().anyMatch(lower::contains) ? 1.0 : 0.3;
-        double projectScore = PROJECT_KEYWORDS.stream().anyMatch(lower::contains) ? 1.0 : 0.2;
-        double educationScore = EDUCATION_KEYWORDS.stream().anyMatch(lower::contains) ? 1.0 : 0.2;
-        double certScore = CERTIFICATION_KEYWORDS.stream().anyMatch(lower::contains) ? 1.0 : 0.3;
+        double experienceScore = features.has(KeywordGroup.EXPERIENCE) ? 1.0 : 0.3;
+        double projectScore = features.has(KeywordGroup.PROJECT) ? 1.0 : 0.2;
+        double educationScore = features.has(KeywordGroup.EDUCATION) ? 1.0 : 0.2;
+        double certScore = features.has(KeywordGroup.CERTIFICATION) ? 1.0 : 0.3;
 
         double total = (0.40 * skillScore) + (0.20 * experienceScore) + (0.15 * projectScore)
                 + (0.15 * educationScore) + (0.10 * certScore);
         return total * 10;
     }
 
-    private double computeReadabilityScore(String text) {
-        if (text == null || text.isBlank()) return 0;
-        String[] sentences = text.split("[.!?]+");
-        if (sentences.length == 0) return 0;
-        int totalWords = 0;
-        for (String s : sentences) {
-            totalWords += s.trim().split("\\s+").length;
-        }
-        double avgWordsPerSentence = (double) totalWords / sentences.length;
+    private double computeReadabilityScore(ResumeFeatures features) {
+        if (features.blank() || features.sentenceCount() == 0) return 0;
+        double avgWordsPerSentence = features.averageWordsPerSentence();
         double score = 100;
         if (avgWordsPerSentence > 25) score -= (avgWordsPerSentence - 25);
         if (avgWordsPerSentence < 10) score -= (10 - avgWordsPerSentence) * 2;
         return Math.max(0, Math.min(100, Math.round(score * 10) / 10.0));
     }
 
-    private boolean isAtsFriendly(String text) {
-        if (text == null || text.isBlank()) return false;
-        String lower = text.toLowerCase();
-        boolean hasSections = lower.contains("experience") || lower.contains("education") || lower.contains("skills");
-        boolean notTooShort = text.length() >= 200;
-        boolean hasBullets = text.contains("•") || text.contains("-") || text.contains("*");
-        return hasSections && notTooShort && hasBullets;
+    private boolean isAtsFriendly(ResumeFeatures features) {
+        if (features.blank()) return false;
+        boolean hasSections = features.has(KeywordGroup.SECTION);
+        boolean notTooShort = features.length() >= 200;
+        return hasSections && notTooShort && features.hasBullets();
     }
 
-    private List<String> buildSuggestions(String rawResume, String cleanedResume,
-                                          Set<String> matchedSkills, Set<String> missingSkills,
-                                          Set<String> jobSkills) {
+    private List<String> buildSuggestions(ResumeFeatures features, Set<String> missingSkills) {
         List<String> suggestions = new ArrayList<>();
 
         if (missingSkills.size() > 3) {
@@ -175,18 +392,16 @@ public class ResumeAnalyzerService {
             suggestions.add("Add key technical skills: " + String.join(", ", topMissing));
         }
 
-        String lower = rawResume.toLowerCase();
-        if (PROJECT_KEYWORDS.stream().noneMatch(lower::contains)) {
+        if (!features.has(KeywordGroup.PROJECT)) {
             suggestions.add("Add a Projects section to showcase relevant work.");
         }
-        if (!rawResume.matches(".*\\d+%.*|.*\\d+x.*|.*\\$\\d+.*|.*\\d+\\+.*")) {
+        if (!features.quantified()) {
             suggestions.add("Add quantified achievements (metrics, percentages, impact) to strengthen your experience.");
         }
-        int wordCount = cleanedResume.split("\\s+").length;
-        if (wordCount < MIN_RESUME_WORDS) {
+        if (features.wordCount() < MIN_RESUME_WORDS) {
             suggestions.add("Expand your resume with more detailed experience and responsibilities.");
         }
-        if (EXPERIENCE_KEYWORDS.stream().noneMatch(lower::contains)) {
+        if (!features.has(KeywordGroup.EXPERIENCE)) {
             suggestions.add("Clearly label your work experience section.");
         }
 
@@ -213,35 +428,76 @@ public class ResumeAnalyzerService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * The user's stored resumes that best match a job description, best first.
+     */
+    public List<ResumeSearchResult> searchStoredResumes(String jobDescription, Long userId, int limit) {
+        List<ResumeSearchIndex.Hit> hits = searchIndex.search(jobDescription, userId, limit);
+        Map<Long, Analysis> analyses = analysisRepository.findAllById(
+                        hits.stream().map(ResumeSearchIndex.Hit::analysisId).toList())
+                .stream()
+                .collect(Collectors.toMap(Analysis::getId, a -> a));
+        List<ResumeSearchResult> results = new ArrayList<>();
+        for (ResumeSearchIndex.Hit hit : hits) {
+            Analysis a = analyses.get(hit.analysisId());
+            if (a == null) continue;
+            results.add(ResumeSearchResult.builder()
+                    .analysisId(a.getId())
+                    .relevance(Math.round(hit.score() * 10000) / 10000.0)
+                    .matchPercentage(a.getMatchPercentage())
+                    .resumeScore(a.getResumeScore())
+                    .createdAt(a.getCreatedAt())
+                    .build());
+        }
+        return results;
+    }
+
     public void deleteAnalysis(Long id, Long userId) {
         Analysis a = analysisRepository.findByIdAndUserId(id, userId)
                 .orElseThrow(() -> new com.resumeanalyzer.exception.ResourceNotFoundException("Analysis", id));
         analysisRepository.delete(a);
+        cosineSimilarity.removeFromCorpus(cosineSimilarity.vectorize(a.getResumeText()));
+        searchIndex.remove(id);
+        nearDuplicateIndex.remove(id);
+        if (a.getUploadHash() != null) extractionCache.evict(a.getUploadHash());
     }
 
+    /**
+     * Response from the artifacts stored with the analysis, recomputing (and storing) them first
+     * if they predate the current {@link #ARTIFACT_VERSION}.
+     */
     private AnalysisResponse toResponse(Analysis a) {
+        if (a.getArtifactVersion() == null || a.getArtifactVersion() < ARTIFACT_VERSION) {
+            recomputeArtifacts(a);
+            analysisRepository.save(a);
+        }
+        return AnalysisResponse.builder()
+                .analysisId(a.getId())
+                .matchPercentage(a.getMatchPercentage())
+                .resumeScore(a.getResumeScore())
+                .matchedSkills(new ArrayList<>(a.getMatchedSkills()))
+                .missingSkills(new ArrayList<>(a.getMissingSkills()))
+                .suggestions(new ArrayList<>(a.getSuggestions()))
+                .readabilityScore(a.getReadabilityScore())
+                .atsCompatible(a.getAtsCompatible())
+                .build();
+    }
+
+    private void recomputeArtifacts(Analysis a) {
         String cleanedResume = textCleaner.clean(a.getResumeText());
-        String cleanedJob = textCleaner.clean(a.getJobDescription());
-        Set<String> jobSkills = extractSkills(cleanedJob);
+        Set<String> jobSkills = jobProfile(a.getJobDescription()).skills();
         Set<String> resumeSkills = extractSkills(cleanedResume);
         Set<String> matched = new HashSet<>(resumeSkills);
         matched.retainAll(jobSkills);
         Set<String> missing = new HashSet<>(jobSkills);
         missing.removeAll(resumeSkills);
 
-        List<String> suggestions = buildSuggestions(a.getResumeText(), cleanedResume, matched, missing, jobSkills);
-        double readability = computeReadabilityScore(a.getResumeText());
-        boolean ats = isAtsFriendly(a.getResumeText());
-
-        return AnalysisResponse.builder()
-                .analysisId(a.getId())
-                .matchPercentage(a.getMatchPercentage())
-                .resumeScore(a.getResumeScore())
-                .matchedSkills(new ArrayList<>(matched))
-                .missingSkills(new ArrayList<>(missing))
-                .suggestions(suggestions)
-                .readabilityScore(readability)
-                .atsCompatible(ats)
-                .build();
+        a.setMatchedSkills(new ArrayList<>(matched));
+        a.setMissingSkills(new ArrayList<>(missing));
+        ResumeFeatures features = ResumeFeatureExtractor.extract(a.getResumeText());
+        a.setSuggestions(buildSuggestions(features, missing));
+        a.setReadabilityScore(computeReadabilityScore(features));
+        a.setAtsCompatible(isAtsFriendly(features));
+        a.setArtifactVersion(ARTIFACT_VERSION);
     }
 }
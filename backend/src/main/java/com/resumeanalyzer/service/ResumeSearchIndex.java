@@ -0,0 +1,380 @@
+package com.resumeanalyzer.service;
+
+import com.resumeanalyzer.repository.AnalysisRepository;
+import com.resumeanalyzer.repository.AnalysisText;
+import com.resumeanalyzer.util.CosineSimilarity;
+import com.resumeanalyzer.util.SkillDataset;
+import com.resumeanalyzer.util.SparseVector;
+import com.resumeanalyzer.util.TextCleaner;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process inverted index over stored resumes, for "best stored resumes for this job description" search.
+ * <p>
+ * Resumes are partitioned by user, so a search only touches the postings of the user's own resumes and
+ * term rarity (IDF) is measured against them. Each resume is a document with postings for its terms
+ * (cosine-normalized term frequency) and for its skills (binary). Documents get dense numbers within
+ * their partition in insertion order, so every postings list is sorted and new documents are appended;
+ * a delete rewrites the partition, which keeps document frequencies exact. Queries run MaxScore top-K
+ * retrieval: terms whose combined upper bound cannot lift a document into the current top K are only
+ * probed for candidates found elsewhere.
+ */
+@Component
+@Slf4j
+public class ResumeSearchIndex {
+
+    private static final double TERM_WEIGHT = 0.4;
+    private static final double SKILL_WEIGHT = 0.6;
+    private static final int REBUILD_PAGE_SIZE = 500;
+
+    public record Hit(long analysisId, double score) {
+    }
+
+    private static final class Postings {
+        int[] docs = new int[4];
+        float[] weights = new float[4];
+        int size;
+        float maxWeight;
+
+        void add(int doc, float weight) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            docs[size] = doc;
+            weights[size] = weight;
+            size++;
+            maxWeight = Math.max(maxWeight, weight);
+        }
+
+        /**
+         * First position at or after {@code from} whose doc is >= target.
+         */
+        int seek(int from, int target) {
+            int lo = from;
+            int hi = size - 1;
+            while (lo <= hi) {
+                int mid = (lo + hi) >>> 1;
+                if (docs[mid] < target) lo = mid + 1;
+                else hi = mid - 1;
+            }
+            return lo;
+        }
+    }
+
+    /**
+     * One user's resumes. Skills are also kept per document, so skill postings can be rebuilt after a
+     * taxonomy reload without touching the term postings.
+     */
+    private static final class Partition {
+        final Map<Integer, Postings> termPostings = new HashMap<>();
+        Map<String, Postings> skillPostings = new HashMap<>();
+        final Map<Long, Integer> docByAnalysisId = new HashMap<>();
+        long[] analysisIds = new long[8];
+        String[][] skills = new String[8][];
+        int docCount;
+    }
+
+    private final CosineSimilarity cosineSimilarity;
+    private final SkillDataset skillDataset;
+    private final TextCleaner textCleaner;
+    private final AnalysisRepository analysisRepository;
+    private final Executor rebuildExecutor;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Partition> partitions = new HashMap<>();
+    private final Map<Long, Long> userByAnalysisId = new HashMap<>();
+
+    public ResumeSearchIndex(CosineSimilarity cosineSimilarity, SkillDataset skillDataset, TextCleaner textCleaner,
+                             AnalysisRepository analysisRepository, Executor searchIndexExecutor) {
+        this.cosineSimilarity = cosineSimilarity;
+        this.skillDataset = skillDataset;
+        this.textCleaner = textCleaner;
+        this.analysisRepository = analysisRepository;
+        this.rebuildExecutor = searchIndexExecutor;
+    }
+
+    /**
+     * Index every stored resume.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        Slice<AnalysisText> slice;
+        int pageNumber = 0;
+        do {
+            slice = analysisRepository.findResumeTexts(PageRequest.of(pageNumber++, REBUILD_PAGE_SIZE));
+            for (AnalysisText row : slice) {
+                String cleaned = textCleaner.clean(row.getResumeText());
+                add(row.getId(), row.getUserId(), cosineSimilarity.vectorize(cleaned), skillDataset.extractSkills(cleaned));
+            }
+        } while (slice.hasNext());
+        log.info("Resume search index built with {} documents", size());
+    }
+
+    /**
+     * Skills depend on the taxonomy but terms do not, so a reload only re-extracts skills, off the
+     * polling thread; searches keep using the previous skills until the new ones are swapped in.
+     */
+    @EventListener(SkillTaxonomyReloadedEvent.class)
+    public void onTaxonomyReloaded() {
+        rebuildExecutor.execute(this::rebuildSkills);
+    }
+
+    /**
+     * Re-extract every stored resume's skills and replace the skill postings.
+     */
+    public void rebuildSkills() {
+        Map<Long, String[]> extracted = new HashMap<>();
+        Slice<AnalysisText> slice;
+        int pageNumber = 0;
+        do {
+            slice = analysisRepository.findResumeTexts(PageRequest.of(pageNumber++, REBUILD_PAGE_SIZE));
+            for (AnalysisText row : slice) {
+                extracted.put(row.getId(),
+                        skillDataset.extractSkills(textCleaner.clean(row.getResumeText())).toArray(String[]::new));
+            }
+        } while (slice.hasNext());
+
+        lock.writeLock().lock();
+        try {
+            for (Partition partition : partitions.values()) {
+                // Resumes added since they were read already have skills from the new taxonomy
+                for (int doc = 0; doc < partition.docCount; doc++) {
+                    String[] skills = extracted.get(partition.analysisIds[doc]);
+                    if (skills != null) partition.skills[doc] = skills;
+                }
+                partition.skillPostings = skillPostings(partition);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Resume search index skills rebuilt for {} documents", extracted.size());
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return userByAnalysisId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Index a stored resume. Re-adding an analysis id replaces its previous document.
+     */
+    public void add(long analysisId, long userId, SparseVector resumeVector, Set<String> resumeSkills) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(analysisId);
+            Partition partition = partitions.computeIfAbsent(userId, id -> new Partition());
+            int doc = partition.docCount++;
+            if (doc == partition.analysisIds.length) {
+                partition.analysisIds = Arrays.copyOf(partition.analysisIds, doc * 2);
+                partition.skills = Arrays.copyOf(partition.skills, doc * 2);
+            }
+            partition.analysisIds[doc] = analysisId;
+            partition.skills[doc] = resumeSkills.toArray(String[]::new);
+            partition.docByAnalysisId.put(analysisId, doc);
+            userByAnalysisId.put(analysisId, userId);
+
+            double norm = resumeVector.norm();
+            for (int i = 0; i < resumeVector.size() && norm > 0; i++) {
+                partition.termPostings.computeIfAbsent(resumeVector.id(i), id -> new Postings())
+                        .add(doc, (float) (resumeVector.weight(i) / norm));
+            }
+            for (String skill : partition.skills[doc]) {
+                partition.skillPostings.computeIfAbsent(skill, name -> new Postings()).add(doc, 1f);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long analysisId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(analysisId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Top {@code k} of the user's stored resumes for a job description, best first.
+     */
+    public List<Hit> search(String jobDescription, long userId, int k) {
+        String cleaned = textCleaner.clean(jobDescription);
+        return search(cosineSimilarity.vectorize(cleaned), skillDataset.extractSkills(cleaned), userId, k);
+    }
+
+    public List<Hit> search(SparseVector query, Set<String> querySkills, long userId, int k) {
+        if (k <= 0) return List.of();
+        lock.readLock().lock();
+        try {
+            Partition partition = partitions.get(userId);
+            if (partition == null) return List.of();
+            return maxScore(partition, queryTerms(partition, query, querySkills), k);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private record QueryTerm(Postings postings, double weight, double upperBound) {
+    }
+
+    private List<QueryTerm> queryTerms(Partition partition, SparseVector query, Set<String> querySkills) {
+        List<QueryTerm> terms = new ArrayList<>();
+        double queryNorm = query.norm();
+        for (int i = 0; i < query.size() && queryNorm > 0; i++) {
+            Postings p = partition.termPostings.get(query.id(i));
+            if (p == null) continue;
+            double idf = Math.log((partition.docCount + 1.0) / (p.size + 1.0)) + 1.0;
+            double weight = TERM_WEIGHT * idf * query.weight(i) / queryNorm;
+            terms.add(new QueryTerm(p, weight, weight * p.maxWeight));
+        }
+        for (String skill : querySkills) {
+            Postings p = partition.skillPostings.get(skill);
+            if (p == null) continue;
+            double weight = SKILL_WEIGHT / querySkills.size();
+            terms.add(new QueryTerm(p, weight, weight * p.maxWeight));
+        }
+        terms.sort(Comparator.comparingDouble(QueryTerm::upperBound));
+        return terms;
+    }
+
+    private static List<Hit> maxScore(Partition partition, List<QueryTerm> terms, int k) {
+        int n = terms.size();
+        int[] cursor = new int[n];
+        double[] prefixBound = new double[n + 1];
+        for (int i = 0; i < n; i++) {
+            prefixBound[i + 1] = prefixBound[i] + terms.get(i).upperBound();
+        }
+
+        PriorityQueue<Hit> top = new PriorityQueue<>(Comparator.comparingDouble(Hit::score));
+        double threshold = 0;
+        // Terms below firstEssential together cannot beat the threshold; they never generate candidates
+        int firstEssential = 0;
+        while (true) {
+            int candidate = Integer.MAX_VALUE;
+            for (int i = firstEssential; i < n; i++) {
+                Postings p = terms.get(i).postings();
+                if (cursor[i] < p.size) candidate = Math.min(candidate, p.docs[cursor[i]]);
+            }
+            if (candidate == Integer.MAX_VALUE) break;
+
+            double score = 0;
+            for (int i = firstEssential; i < n; i++) {
+                Postings p = terms.get(i).postings();
+                if (cursor[i] < p.size && p.docs[cursor[i]] == candidate) {
+                    score += terms.get(i).weight() * p.weights[cursor[i]];
+                    cursor[i]++;
+                }
+            }
+
+            for (int i = firstEssential - 1; i >= 0; i--) {
+                if (score + prefixBound[i + 1] <= threshold) break;
+                Postings p = terms.get(i).postings();
+                cursor[i] = p.seek(cursor[i], candidate);
+                if (cursor[i] < p.size && p.docs[cursor[i]] == candidate) {
+                    score += terms.get(i).weight() * p.weights[cursor[i]];
+                }
+            }
+
+            long analysisId = partition.analysisIds[candidate];
+            if (top.size() < k) {
+                top.add(new Hit(analysisId, score));
+                if (top.size() == k) threshold = top.peek().score();
+            } else if (score > threshold) {
+                top.poll();
+                top.add(new Hit(analysisId, score));
+                threshold = top.peek().score();
+            }
+            while (firstEssential < n && prefixBound[firstEssential + 1] <= threshold) {
+                firstEssential++;
+            }
+        }
+
+        List<Hit> hits = new ArrayList<>(top);
+        hits.sort(Comparator.comparingDouble(Hit::score).reversed());
+        return hits;
+    }
+
+    /**
+     * Drop the document and renumber the rest of its partition densely, preserving order. Only the
+     * user's own postings are rewritten.
+     */
+    private void removeLocked(long analysisId) {
+        Long userId = userByAnalysisId.remove(analysisId);
+        if (userId == null) return;
+        Partition partition = partitions.get(userId);
+        int removed = partition.docByAnalysisId.remove(analysisId);
+        if (partition.docCount == 1) {
+            partitions.remove(userId);
+            return;
+        }
+
+        int[] remap = new int[partition.docCount];
+        int next = 0;
+        for (int doc = 0; doc < partition.docCount; doc++) {
+            if (doc == removed) {
+                remap[doc] = -1;
+            } else {
+                remap[doc] = next;
+                partition.analysisIds[next] = partition.analysisIds[doc];
+                partition.skills[next] = partition.skills[doc];
+                partition.docByAnalysisId.put(partition.analysisIds[next], next);
+                next++;
+            }
+        }
+        partition.skills[next] = null;
+        partition.docCount = next;
+        partition.termPostings.values().removeIf(p -> compact(p, remap));
+        partition.skillPostings.values().removeIf(p -> compact(p, remap));
+    }
+
+    private static Map<String, Postings> skillPostings(Partition partition) {
+        Map<String, Postings> postings = new HashMap<>();
+        for (int doc = 0; doc < partition.docCount; doc++) {
+            for (String skill : partition.skills[doc]) {
+                postings.computeIfAbsent(skill, name -> new Postings()).add(doc, 1f);
+            }
+        }
+        return postings;
+    }
+
+    /**
+     * Rewrite a postings list through the doc renumbering; returns true if it ended up empty.
+     */
+    private static boolean compact(Postings p, int[] remap) {
+        int size = 0;
+        float max = 0;
+        for (int i = 0; i < p.size; i++) {
+            int doc = remap[p.docs[i]];
+            if (doc < 0) continue;
+            p.docs[size] = doc;
+            p.weights[size] = p.weights[i];
+            max = Math.max(max, p.weights[i]);
+            size++;
+        }
+        p.size = size;
+        p.maxWeight = max;
+        return size == 0;
+    }
+}
@@ -0,0 +1,16 @@
+package com.resumeanalyzer.service;
+
+import com.resumeanalyzer.dto.AnalysisResponse;
+import com.resumeanalyzer.model.Analysis;
+import com.resumeanalyzer.util.SparseVector;
+
+import java.util.Set;
+
+/**
+ * Result of scoring a resume before persistence: the unsaved entity, the response to return once saved,
+ * and the resume term vector, skills and MinHash signature (fed to corpus statistics, the search index and
+ * the near-duplicate index after the save).
+ */
+public record ScoredAnalysis(Analysis analysis, AnalysisResponse response,
+                             SparseVector resumeVector, Set<String> resumeSkills, int[] signature) {
+}
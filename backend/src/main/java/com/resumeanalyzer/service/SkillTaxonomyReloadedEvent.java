@@ -0,0 +1,7 @@
+package com.resumeanalyzer.service;
+
+/**
+ * Published after a new skill taxonomy has been installed, so caches of extracted skills can be dropped.
+ */
+public record SkillTaxonomyReloadedEvent(int previousVersion, int version) {
+}
@@ -0,0 +1,75 @@
+package com.resumeanalyzer.service;
+
+import com.resumeanalyzer.util.SkillDataset;
+import com.resumeanalyzer.util.SkillTaxonomy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps the live skill taxonomy in sync with an external taxonomy file, without a restart.
+ * <p>
+ * The file is polled for changes; a changed file is parsed and compiled off the request path and
+ * installed only if it is valid and carries a different version than the live one. A broken file is
+ * logged and ignored, leaving the current taxonomy in place.
+ */
+@Service
+@Slf4j
+public class SkillTaxonomyService {
+
+    private final SkillDataset skillDataset;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Path taxonomyPath;
+
+    private final ReentrantLock reloadLock = new ReentrantLock();
+    private FileTime lastModified;
+
+    public SkillTaxonomyService(SkillDataset skillDataset, ApplicationEventPublisher eventPublisher,
+                                @Value("${app.skills.taxonomy-path:}") String taxonomyPath) {
+        this.skillDataset = skillDataset;
+        this.eventPublisher = eventPublisher;
+        this.taxonomyPath = taxonomyPath == null || taxonomyPath.isBlank() ? null : Path.of(taxonomyPath);
+    }
+
+    /**
+     * Check the taxonomy file and install it if it changed. Returns true if a new taxonomy was installed.
+     */
+    @Scheduled(fixedDelayString = "${app.skills.reload-interval-ms:30000}", initialDelay = 0)
+    public boolean reload() {
+        if (taxonomyPath == null || !Files.isRegularFile(taxonomyPath)) return false;
+        // A lock rather than synchronized: the file is read while holding it, which would pin a virtual thread
+        reloadLock.lock();
+        try {
+            FileTime modified = Files.getLastModifiedTime(taxonomyPath);
+            if (modified.equals(lastModified)) return false;
+            lastModified = modified;
+
+            SkillTaxonomy next;
+            try (InputStream in = Files.newInputStream(taxonomyPath)) {
+                next = SkillTaxonomy.read(in);
+            }
+            int previousVersion = skillDataset.getTaxonomy().version();
+            if (next.version() == previousVersion) return false;
+
+            skillDataset.install(next);
+            log.info("Installed skill taxonomy version {} ({} skills) from {}",
+                    next.version(), next.skillNames().size(), taxonomyPath);
+            eventPublisher.publishEvent(new SkillTaxonomyReloadedEvent(previousVersion, next.version()));
+            return true;
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not load skill taxonomy {}: {}", taxonomyPath, e.getMessage());
+            return false;
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+}
@@ -17,12 +17,6 @@ public class UserService {
 
     private final UserRepository userRepository;
 
-    @Transactional(readOnly = true)
-    public User findByEmail(String email) {
-        return userRepository.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found with email: " + email));
-    }
-
     @Transactional(readOnly = true)
     public UserProfileDto getProfile(Long userId) {
         User user = userRepository.findById(userId)
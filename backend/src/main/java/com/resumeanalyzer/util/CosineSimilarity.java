@@ -1,69 +1,145 @@
 package com.resumeanalyzer.util;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Set;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.Arrays;
 
 /**
  * Computes cosine similarity between two texts using word frequency vectors.
+ * Terms are interned in a {@link TermDictionary} and vectors are primitive {@link SparseVector}s.
+ * In {@link Weighting#TFIDF} mode each term frequency is scaled by the term's IDF over all analyzed
+ * resumes, so boilerplate words shared by every resume stop dominating the score.
  */
 @Component
 public class CosineSimilarity {
 
+    public enum Weighting {
+        TF,
+        TFIDF
+    }
+
     private final TextCleaner textCleaner;
+    private final TermDictionary termDictionary;
+    private final DocumentFrequencyTable documentFrequencies;
+    private final Weighting weighting;
 
-    public CosineSimilarity(TextCleaner textCleaner) {
+    @Autowired
+    public CosineSimilarity(TextCleaner textCleaner, TermDictionary termDictionary,
+                            DocumentFrequencyTable documentFrequencies,
+                            @Value("${app.analysis.weighting:tfidf}") String weighting) {
         this.textCleaner = textCleaner;
+        this.termDictionary = termDictionary;
+        this.documentFrequencies = documentFrequencies;
+        this.weighting = Weighting.valueOf(weighting.trim().toUpperCase());
+    }
+
+    public CosineSimilarity(TextCleaner textCleaner) {
+        this(textCleaner, new TermDictionary(TermDictionary.DEFAULT_MAX_TERMS));
+    }
+
+    private CosineSimilarity(TextCleaner textCleaner, TermDictionary termDictionary) {
+        this(textCleaner, termDictionary, new DocumentFrequencyTable(termDictionary), Weighting.TF.name());
     }
 
     /**
-     * Build word frequency map from text.
+     * Build the term-frequency vector of a text.
      */
-    public Map<String, Integer> wordFrequency(String text) {
-        String[] tokens = textCleaner.tokenize(text);
-        Map<String, Integer> freq = new HashMap<>();
-        for (String token : tokens) {
-            freq.merge(token, 1, Integer::sum);
-        }
-        return freq;
+    public SparseVector vectorize(String text) {
+        Vectorizer vectorizer = new Vectorizer();
+        textCleaner.tokenize(text, vectorizer);
+        return vectorizer.vector();
     }
 
     /**
-     * Get all unique words from both maps (vocabulary).
+     * Term-frequency vector built from a token stream.
      */
-    public Set<String> vocabulary(Map<String, Integer> a, Map<String, Integer> b) {
-        return Stream.concat(a.keySet().stream(), b.keySet().stream()).collect(Collectors.toSet());
+    public Vectorizer vectorizer() {
+        return new Vectorizer();
     }
 
     /**
      * Cosine similarity in [0, 1]. Returns 0 if either vector is empty.
      */
     public double similarity(String text1, String text2) {
-        Map<String, Integer> freq1 = wordFrequency(text1);
-        Map<String, Integer> freq2 = wordFrequency(text2);
-        if (freq1.isEmpty() || freq2.isEmpty()) {
-            return 0.0;
-        }
+        return similarity(vectorize(text1), vectorize(text2));
+    }
 
-        Set<String> vocab = vocabulary(freq1, freq2);
-        double dotProduct = 0;
+    public double similarity(SparseVector v1, SparseVector v2) {
+        if (v1.isEmpty() || v2.isEmpty()) return 0.0;
+        double cos = weighting == Weighting.TFIDF ? tfIdfCosine(v1, v2) : tfCosine(v1, v2);
+        return Math.max(0, Math.min(1, cos));
+    }
+
+    /**
+     * Count a persisted resume in the corpus document frequencies.
+     */
+    public void addToCorpus(SparseVector document) {
+        documentFrequencies.addDocument(document);
+    }
+
+    public void removeFromCorpus(SparseVector document) {
+        documentFrequencies.removeDocument(document);
+    }
+
+    public Weighting getWeighting() {
+        return weighting;
+    }
+
+    private static double tfCosine(SparseVector v1, SparseVector v2) {
+        double norm1 = v1.norm();
+        double norm2 = v2.norm();
+        if (norm1 == 0 || norm2 == 0) return 0.0;
+        return v1.dot(v2) / (norm1 * norm2);
+    }
+
+    /**
+     * IDF changes as the corpus grows, so the weighted norms are computed here rather than cached on the vectors.
+     */
+    private double tfIdfCosine(SparseVector v1, SparseVector v2) {
         double norm1 = 0;
         double norm2 = 0;
+        double dotProduct = 0;
+        int i = 0;
+        int j = 0;
+        while (i < v1.size() || j < v2.size()) {
+            int id1 = i < v1.size() ? v1.id(i) : Integer.MAX_VALUE;
+            int id2 = j < v2.size() ? v2.id(j) : Integer.MAX_VALUE;
+            if (id1 == id2) {
+                double idf = documentFrequencies.idf(id1);
+                double w1 = v1.weight(i++) * idf;
+                double w2 = v2.weight(j++) * idf;
+                dotProduct += w1 * w2;
+                norm1 += w1 * w1;
+                norm2 += w2 * w2;
+            } else if (id1 < id2) {
+                double w1 = v1.weight(i++) * documentFrequencies.idf(id1);
+                norm1 += w1 * w1;
+            } else {
+                double w2 = v2.weight(j++) * documentFrequencies.idf(id2);
+                norm2 += w2 * w2;
+            }
+        }
+        if (norm1 == 0 || norm2 == 0) return 0.0;
+        return dotProduct / (Math.sqrt(norm1) * Math.sqrt(norm2));
+    }
 
-        for (String word : vocab) {
-            int v1 = freq1.getOrDefault(word, 0);
-            int v2 = freq2.getOrDefault(word, 0);
-            dotProduct += (double) v1 * v2;
-            norm1 += (double) v1 * v1;
-            norm2 += (double) v2 * v2;
+    public final class Vectorizer implements TextCleaner.TokenSink {
+        private int[] ids = new int[64];
+        private int count;
+
+        private Vectorizer() {
         }
 
-        if (norm1 == 0 || norm2 == 0) return 0.0;
-        double cos = dotProduct / (Math.sqrt(norm1) * Math.sqrt(norm2));
-        return Math.max(0, Math.min(1, cos));
+        @Override
+        public void accept(char[] buffer, int length) {
+            if (count == ids.length) ids = Arrays.copyOf(ids, count * 2);
+            ids[count++] = termDictionary.id(buffer, length);
+        }
+
+        public SparseVector vector() {
+            return SparseVector.fromTermIds(ids, count);
+        }
     }
 }
@@ -0,0 +1,152 @@
+package com.resumeanalyzer.util;
+
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Document frequency per term id over all analyzed resumes, maintained incrementally.
+ * <p>
+ * Counters live in lazily allocated fixed-size chunks indexed by term id, so reads and updates are
+ * plain atomic operations with no locking. IDF uses the smoothed form {@code ln((N + 1) / (df + 1)) + 1},
+ * which is 1 for every term while the corpus is empty.
+ */
+@Component
+public class DocumentFrequencyTable {
+
+    private static final int CHUNK_BITS = 12;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+
+    private final TermDictionary termDictionary;
+    private final AtomicReferenceArray<AtomicIntegerArray> chunks;
+    private final AtomicLong documentCount = new AtomicLong();
+    private final AtomicLong modifications = new AtomicLong();
+
+    public DocumentFrequencyTable(TermDictionary termDictionary) {
+        this.termDictionary = termDictionary;
+        this.chunks = new AtomicReferenceArray<>((termDictionary.idLimit() >>> CHUNK_BITS) + 1);
+    }
+
+    public long documentCount() {
+        return documentCount.get();
+    }
+
+    /**
+     * Increases on every change; lets a snapshot writer skip unchanged tables.
+     */
+    public long modificationCount() {
+        return modifications.get();
+    }
+
+    public int documentFrequency(int termId) {
+        AtomicIntegerArray chunk = chunks.get(termId >>> CHUNK_BITS);
+        return chunk == null ? 0 : chunk.get(termId & (CHUNK_SIZE - 1));
+    }
+
+    public double idf(int termId) {
+        return Math.log((documentCount.get() + 1.0) / (documentFrequency(termId) + 1.0)) + 1.0;
+    }
+
+    /**
+     * Count each distinct term of the document once.
+     */
+    public void addDocument(SparseVector document) {
+        for (int i = 0; i < document.size(); i++) {
+            chunkFor(document.id(i)).incrementAndGet(document.id(i) & (CHUNK_SIZE - 1));
+        }
+        documentCount.incrementAndGet();
+        modifications.incrementAndGet();
+    }
+
+    public void removeDocument(SparseVector document) {
+        for (int i = 0; i < document.size(); i++) {
+            chunkFor(document.id(i)).updateAndGet(document.id(i) & (CHUNK_SIZE - 1), df -> Math.max(0, df - 1));
+        }
+        documentCount.updateAndGet(n -> Math.max(0, n - 1));
+        modifications.incrementAndGet();
+    }
+
+    /**
+     * Non-zero document frequencies by term, for persisting. Overflow ids have no term and are skipped.
+     */
+    public Map<String, Integer> snapshot() {
+        Map<String, Integer> frequencies = new HashMap<>();
+        int terms = termDictionary.size();
+        for (int id = 0; id < terms; id++) {
+            int df = documentFrequency(id);
+            if (df > 0) frequencies.put(termDictionary.term(id), df);
+        }
+        return frequencies;
+    }
+
+    /**
+     * Replace the current counts with a persisted snapshot.
+     */
+    public void restore(long documents, Map<String, Integer> frequencies) {
+        for (int c = 0; c < chunks.length(); c++) {
+            chunks.set(c, null);
+        }
+        frequencies.forEach((term, df) -> {
+            int id = termDictionary.id(term);
+            chunkFor(id).addAndGet(id & (CHUNK_SIZE - 1), df);
+        });
+        documentCount.set(documents);
+        modifications.incrementAndGet();
+    }
+
+    /**
+     * Point-in-time copy of the counts, e.g. as the baseline of a rebuild.
+     */
+    public DocumentFrequencyTable copy() {
+        DocumentFrequencyTable copy = new DocumentFrequencyTable(termDictionary);
+        for (int c = 0; c < chunks.length(); c++) {
+            AtomicIntegerArray chunk = chunks.get(c);
+            if (chunk == null) continue;
+            AtomicIntegerArray target = new AtomicIntegerArray(CHUNK_SIZE);
+            for (int i = 0; i < CHUNK_SIZE; i++) {
+                target.set(i, chunk.get(i));
+            }
+            copy.chunks.set(c, target);
+        }
+        copy.documentCount.set(documentCount.get());
+        return copy;
+    }
+
+    /**
+     * Swap in counts rebuilt off to the side while this table kept serving: each count becomes
+     * {@code rebuilt + (current - baseline)}, where {@code baseline} is a copy taken when the rebuild
+     * started. Documents added or removed during the rebuild are kept, and every slot is updated
+     * atomically, so concurrent updates are not lost.
+     */
+    public void replace(DocumentFrequencyTable rebuilt, DocumentFrequencyTable baseline) {
+        int limit = Math.max(rebuilt.chunks.length(), baseline.chunks.length());
+        for (int c = 0; c < limit; c++) {
+            AtomicIntegerArray next = rebuilt.chunks.get(c);
+            AtomicIntegerArray previous = baseline.chunks.get(c);
+            if (next == null && previous == null) continue;
+            for (int i = 0; i < CHUNK_SIZE; i++) {
+                int delta = (next == null ? 0 : next.get(i)) - (previous == null ? 0 : previous.get(i));
+                if (delta != 0) {
+                    chunkFor((c << CHUNK_BITS) | i).updateAndGet(i, df -> Math.max(0, df + delta));
+                }
+            }
+        }
+        long documentDelta = rebuilt.documentCount() - baseline.documentCount();
+        documentCount.updateAndGet(n -> Math.max(0, n + documentDelta));
+        modifications.incrementAndGet();
+    }
+
+    private AtomicIntegerArray chunkFor(int termId) {
+        int index = termId >>> CHUNK_BITS;
+        AtomicIntegerArray chunk = chunks.get(index);
+        if (chunk == null) {
+            chunks.compareAndSet(index, null, new AtomicIntegerArray(CHUNK_SIZE));
+            chunk = chunks.get(index);
+        }
+        return chunk;
+    }
+}
@@ -0,0 +1,134 @@
+package com.resumeanalyzer.util;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * MinHash signatures over word shingles, for estimating Jaccard similarity between resumes.
+ * <p>
+ * Shingles are runs of {@value #SHINGLE_SIZE} consecutive cleaned tokens, hashed on the fly from the
+ * tokenizer buffer. Each of the {@value #NUM_HASHES} hash functions is a 64-bit mix of the shingle hash
+ * with a fixed seed; the seeds never change, so persisted signatures stay comparable across restarts.
+ */
+public final class MinHasher {
+
+    public static final int NUM_HASHES = 128;
+    public static final int SIGNATURE_BYTES = NUM_HASHES * Integer.BYTES;
+
+    private static final int SHINGLE_SIZE = 3;
+    private static final long[] SEEDS = new SplittableRandom(0x5EEDL).longs(NUM_HASHES).toArray();
+
+    private final TextCleaner textCleaner;
+
+    public MinHasher(TextCleaner textCleaner) {
+        this.textCleaner = textCleaner;
+    }
+
+    /**
+     * Signature of the text, or null if it has no tokens.
+     */
+    public int[] signature(CharSequence text) {
+        Shingler shingler = new Shingler();
+        textCleaner.tokenize(text, shingler);
+        return shingler.signature();
+    }
+
+    /**
+     * Signature built from a token stream.
+     */
+    public static final class Shingler implements TextCleaner.TokenSink {
+
+        private final long[] mins = new long[NUM_HASHES];
+        private final long[] window = new long[SHINGLE_SIZE];
+        private int tokens;
+
+        public Shingler() {
+            Arrays.fill(mins, Long.MAX_VALUE);
+        }
+
+        @Override
+        public void accept(char[] buffer, int length) {
+            long tokenHash = 0xcbf29ce484222325L;
+            for (int i = 0; i < length; i++) {
+                tokenHash = (tokenHash ^ buffer[i]) * 0x100000001b3L;
+            }
+            window[tokens % SHINGLE_SIZE] = tokenHash;
+            tokens++;
+            if (tokens >= SHINGLE_SIZE) {
+                addShingle(mins, shingleHash(window, tokens));
+            }
+        }
+
+        /**
+         * Signature of the tokens seen so far, or null if there were none.
+         */
+        public int[] signature() {
+            if (tokens == 0) return null;
+            long[] result = mins;
+            if (tokens < SHINGLE_SIZE) {
+                result = mins.clone();
+                addShingle(result, shingleHash(window, tokens));
+            }
+            int[] signature = new int[NUM_HASHES];
+            for (int i = 0; i < NUM_HASHES; i++) {
+                signature[i] = (int) (result[i] >>> 32);
+            }
+            return signature;
+        }
+    }
+
+    /**
+     * Estimated Jaccard similarity: the fraction of positions where the signatures agree.
+     */
+    public static double similarity(int[] a, int[] b) {
+        int equal = 0;
+        for (int i = 0; i < NUM_HASHES; i++) {
+            if (a[i] == b[i]) equal++;
+        }
+        return (double) equal / NUM_HASHES;
+    }
+
+    public static byte[] encode(int[] signature) {
+        if (signature == null) return null;
+        ByteBuffer buffer = ByteBuffer.allocate(SIGNATURE_BYTES);
+        for (int value : signature) buffer.putInt(value);
+        return buffer.array();
+    }
+
+    public static int[] decode(byte[] bytes) {
+        if (bytes == null || bytes.length != SIGNATURE_BYTES) return null;
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        int[] signature = new int[NUM_HASHES];
+        for (int i = 0; i < NUM_HASHES; i++) signature[i] = buffer.getInt();
+        return signature;
+    }
+
+    /**
+     * Order-sensitive hash of the last min(count, SHINGLE_SIZE) tokens in the ring buffer.
+     */
+    private static long shingleHash(long[] window, int count) {
+        int n = Math.min(count, SHINGLE_SIZE);
+        long h = 0;
+        for (int i = count - n; i < count; i++) {
+            h = h * 0x9E3779B97F4A7C15L + window[i % SHINGLE_SIZE];
+        }
+        return h;
+    }
+
+    private static void addShingle(long[] mins, long shingle) {
+        for (int i = 0; i < NUM_HASHES; i++) {
+            long h = mix(shingle ^ SEEDS[i]);
+            if (h < mins[i]) mins[i] = h;
+        }
+    }
+
+    /**
+     * SplitMix64 finalizer.
+     */
+    static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
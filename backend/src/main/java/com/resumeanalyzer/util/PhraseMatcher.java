@@ -0,0 +1,284 @@
+package com.resumeanalyzer.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.IntConsumer;
+
+/**
+ * Aho-Corasick automaton that finds every phrase of a fixed dictionary in a single pass over the text.
+ * <p>
+ * Text and phrases are normalized the same way before matching: lowercased, and every run of characters
+ * that {@link TextCleaner} does not treat as token characters collapsed to one space. Every phrase is
+ * anchored with a leading and trailing space, so a hit only counts on word boundaries ("ai" does not
+ * match inside "maintain"). The compiled structure is immutable and safe to share between threads.
+ */
+public final class PhraseMatcher {
+
+    private static final char SEPARATOR = ' ';
+
+    private final String[] phrases;
+    // Goto function in CSR form: transitions of state s are labels/targets[offsets[s]..offsets[s+1]), labels sorted
+    private final int[] offsets;
+    private final char[] labels;
+    private final int[] targets;
+    private final int[] fail;
+    // Phrase id ending at a state (-1 if none) and the next state on the fail chain that has an output
+    private final int[] output;
+    private final int[] outputLink;
+
+    private PhraseMatcher(String[] phrases, int[] offsets, char[] labels, int[] targets,
+                          int[] fail, int[] output, int[] outputLink) {
+        this.phrases = phrases;
+        this.offsets = offsets;
+        this.labels = labels;
+        this.targets = targets;
+        this.fail = fail;
+        this.output = output;
+        this.outputLink = outputLink;
+    }
+
+    /**
+     * Compile the given phrases. Phrases that normalize to nothing are ignored; duplicates collapse to one id.
+     */
+    public static PhraseMatcher compile(Collection<String> dictionary) {
+        List<String> unique = new ArrayList<>(new LinkedHashSet<>(dictionary));
+        List<TreeMap<Character, Integer>> trie = new ArrayList<>();
+        List<Integer> terminal = new ArrayList<>();
+        trie.add(new TreeMap<>());
+        terminal.add(-1);
+
+        List<String> accepted = new ArrayList<>();
+        Map<String, Integer> seen = new HashMap<>();
+        for (String phrase : unique) {
+            String normalized = normalize(phrase);
+            if (normalized.isEmpty() || seen.containsKey(normalized)) continue;
+            int id = accepted.size();
+            accepted.add(phrase);
+            seen.put(normalized, id);
+
+            String anchored = SEPARATOR + normalized + SEPARATOR;
+            int state = 0;
+            for (int i = 0; i < anchored.length(); i++) {
+                char c = anchored.charAt(i);
+                Integer next = trie.get(state).get(c);
+                if (next == null) {
+                    next = trie.size();
+                    trie.add(new TreeMap<>());
+                    terminal.add(-1);
+                    trie.get(state).put(c, next);
+                }
+                state = next;
+            }
+            terminal.set(state, id);
+        }
+
+        int stateCount = trie.size();
+        int[] offsets = new int[stateCount + 1];
+        for (int s = 0; s < stateCount; s++) {
+            offsets[s + 1] = offsets[s] + trie.get(s).size();
+        }
+        char[] labels = new char[offsets[stateCount]];
+        int[] targets = new int[offsets[stateCount]];
+        for (int s = 0; s < stateCount; s++) {
+            int i = offsets[s];
+            for (Map.Entry<Character, Integer> e : trie.get(s).entrySet()) {
+                labels[i] = e.getKey();
+                targets[i] = e.getValue();
+                i++;
+            }
+        }
+
+        int[] output = new int[stateCount];
+        for (int s = 0; s < stateCount; s++) {
+            output[s] = terminal.get(s);
+        }
+        int[] fail = new int[stateCount];
+        int[] outputLink = new int[stateCount];
+        Arrays.fill(outputLink, -1);
+
+        // Breadth-first construction of failure and output links
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int i = offsets[0]; i < offsets[1]; i++) {
+            fail[targets[i]] = 0;
+            queue.add(targets[i]);
+        }
+        PhraseMatcher partial = new PhraseMatcher(null, offsets, labels, targets, fail, output, outputLink);
+        while (!queue.isEmpty()) {
+            int s = queue.poll();
+            for (int i = offsets[s]; i < offsets[s + 1]; i++) {
+                int child = targets[i];
+                char c = labels[i];
+                int f = fail[s];
+                int next;
+                while ((next = partial.transition(f, c)) < 0 && f != 0) {
+                    f = fail[f];
+                }
+                fail[child] = next >= 0 && next != child ? next : 0;
+                int link = fail[child];
+                outputLink[child] = output[link] >= 0 ? link : outputLink[link];
+                queue.add(child);
+            }
+        }
+
+        return new PhraseMatcher(accepted.toArray(new String[0]), offsets, labels, targets, fail, output, outputLink);
+    }
+
+    /**
+     * Number of distinct phrases in the dictionary.
+     */
+    public int size() {
+        return phrases.length;
+    }
+
+    /**
+     * Phrase for an id reported by {@link #scan}, as originally passed to {@link #compile}.
+     */
+    public String phrase(int id) {
+        return phrases[id];
+    }
+
+    /**
+     * All dictionary phrases occurring in the text, each reported once.
+     */
+    public Set<String> findAll(CharSequence text) {
+        if (text == null || text.length() == 0) return Collections.emptySet();
+        Set<String> found = new LinkedHashSet<>();
+        scan(text, id -> found.add(phrases[id]));
+        return found;
+    }
+
+    /**
+     * Single pass over the text; calls {@code onMatch} with the phrase id of every occurrence.
+     */
+    public void scan(CharSequence text, IntConsumer onMatch) {
+        int state = step(0, SEPARATOR, onMatch);
+        boolean pendingSeparator = false;
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c < 128) {
+                if (c >= 'A' && c <= 'Z') {
+                    c = (char) (c + ('a' - 'A'));
+                } else if (!((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9'))) {
+                    pendingSeparator = true;
+                    continue;
+                }
+                if (pendingSeparator) {
+                    state = step(state, SEPARATOR, onMatch);
+                    pendingSeparator = false;
+                }
+                state = step(state, c, onMatch);
+                continue;
+            }
+
+            int codePoint = c;
+            if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(text.charAt(i + 1))) {
+                codePoint = Character.toCodePoint(c, text.charAt(++i));
+            }
+            if (!TextCleaner.isTokenCodePoint(codePoint)) {
+                pendingSeparator = true;
+                continue;
+            }
+            if (pendingSeparator) {
+                state = step(state, SEPARATOR, onMatch);
+                pendingSeparator = false;
+            }
+            codePoint = Character.toLowerCase(codePoint);
+            if (Character.isBmpCodePoint(codePoint)) {
+                state = step(state, (char) codePoint, onMatch);
+            } else {
+                state = step(state, Character.highSurrogate(codePoint), onMatch);
+                state = step(state, Character.lowSurrogate(codePoint), onMatch);
+            }
+        }
+        step(state, SEPARATOR, onMatch);
+    }
+
+    /**
+     * Matcher over a stream of cleaned tokens (as emitted by {@link TextCleaner}), equivalent to
+     * {@link #scan} over the tokens joined by single spaces.
+     */
+    public TokenScanner tokenScanner(IntConsumer onMatch) {
+        return new TokenScanner(onMatch);
+    }
+
+    /**
+     * Stateful single-document scan; call {@link #finish} after the last token.
+     */
+    public final class TokenScanner implements TextCleaner.TokenSink {
+
+        private final IntConsumer onMatch;
+        private int state;
+
+        private TokenScanner(IntConsumer onMatch) {
+            this.onMatch = onMatch;
+        }
+
+        @Override
+        public void accept(char[] buffer, int length) {
+            state = step(state, SEPARATOR, onMatch);
+            for (int i = 0; i < length; i++) {
+                state = step(state, buffer[i], onMatch);
+            }
+        }
+
+        public void finish() {
+            state = step(state, SEPARATOR, onMatch);
+        }
+    }
+
+    private int step(int state, char c, IntConsumer onMatch) {
+        int next;
+        while ((next = transition(state, c)) < 0 && state != 0) {
+            state = fail[state];
+        }
+        state = next < 0 ? 0 : next;
+        for (int s = output[state] >= 0 ? state : outputLink[state]; s >= 0; s = outputLink[s]) {
+            onMatch.accept(output[s]);
+        }
+        return state;
+    }
+
+    private int transition(int state, char c) {
+        int lo = offsets[state];
+        int hi = offsets[state + 1] - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            char label = labels[mid];
+            if (label < c) lo = mid + 1;
+            else if (label > c) hi = mid - 1;
+            else return targets[mid];
+        }
+        return -1;
+    }
+
+    /**
+     * Normalization applied to dictionary phrases; mirrors what {@link #scan} does to the text on the fly.
+     */
+    static String normalize(String phrase) {
+        StringBuilder sb = new StringBuilder(phrase.length());
+        boolean pendingSeparator = false;
+        for (int i = 0; i < phrase.length(); ) {
+            int codePoint = phrase.codePointAt(i);
+            i += Character.charCount(codePoint);
+            boolean token = codePoint < 128 ? Character.isLetterOrDigit(codePoint) : TextCleaner.isTokenCodePoint(codePoint);
+            if (token) {
+                if (pendingSeparator && sb.length() > 0) sb.append(SEPARATOR);
+                pendingSeparator = false;
+                sb.appendCodePoint(Character.toLowerCase(codePoint));
+            } else {
+                pendingSeparator = true;
+            }
+        }
+        return sb.toString();
+    }
+}
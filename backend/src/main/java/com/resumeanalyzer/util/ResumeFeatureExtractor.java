@@ -0,0 +1,185 @@
+package com.resumeanalyzer.util;
+
+import java.util.Arrays;
+
+/**
+ * Computes {@link ResumeFeatures} in a single scan over the raw text, replacing separate
+ * lowercase copies, per-keyword {@code contains} scans and a backtracking regex per scorer.
+ * <p>
+ * All keywords are compiled into one lowercase a–z automaton (Aho–Corasick with a full transition
+ * table), so every keyword group is found in the same pass that counts words, sentences and markers.
+ * The extractor accumulates across {@link #append} calls, so text can be fed in chunks; create one
+ * per document.
+ */
+public final class ResumeFeatureExtractor {
+
+    private static final int ALPHABET = 26;
+
+    // transitions[state * ALPHABET + letter]; state 0 is the root
+    private static final int[] TRANSITIONS;
+    // Groups whose keyword ends at the state, including those reached through failure links
+    private static final int[] OUTPUT;
+
+    static {
+        int capacity = 1;
+        for (ResumeFeatures.KeywordGroup group : ResumeFeatures.KeywordGroup.values()) {
+            for (String keyword : group.keywords()) capacity += keyword.length();
+        }
+        int[] trie = new int[capacity * ALPHABET];
+        Arrays.fill(trie, -1);
+        int[] output = new int[capacity];
+        int states = 1;
+        for (ResumeFeatures.KeywordGroup group : ResumeFeatures.KeywordGroup.values()) {
+            for (String keyword : group.keywords()) {
+                int state = 0;
+                for (int i = 0; i < keyword.length(); i++) {
+                    int slot = state * ALPHABET + (keyword.charAt(i) - 'a');
+                    if (trie[slot] < 0) trie[slot] = states++;
+                    state = trie[slot];
+                }
+                output[state] |= group.bit();
+            }
+        }
+
+        // Breadth-first: fill missing transitions from the failure state and inherit its output
+        int[] fail = new int[states];
+        int[] queue = new int[states];
+        int head = 0;
+        int tail = 0;
+        for (int c = 0; c < ALPHABET; c++) {
+            int next = trie[c];
+            if (next < 0) {
+                trie[c] = 0;
+            } else {
+                fail[next] = 0;
+                queue[tail++] = next;
+            }
+        }
+        while (head < tail) {
+            int state = queue[head++];
+            output[state] |= output[fail[state]];
+            for (int c = 0; c < ALPHABET; c++) {
+                int slot = state * ALPHABET + c;
+                int next = trie[slot];
+                if (next < 0) {
+                    trie[slot] = trie[fail[state] * ALPHABET + c];
+                } else {
+                    fail[next] = trie[fail[state] * ALPHABET + c];
+                    queue[tail++] = next;
+                }
+            }
+        }
+        TRANSITIONS = Arrays.copyOf(trie, states * ALPHABET);
+        OUTPUT = Arrays.copyOf(output, states);
+    }
+
+    private int state;
+    private int groups;
+    private boolean hasBullets;
+    private boolean quantified;
+    private boolean blank = true;
+    private int length;
+
+    private char previous;
+    private boolean inWord;
+    private int wordCount;
+
+    private boolean inDelimiters;
+    private int segmentLength;
+    private boolean inSegmentWord;
+    private int segmentWords;
+    private int sentenceCount;
+    private int sentenceWordCount;
+
+    public static ResumeFeatures extract(CharSequence text) {
+        ResumeFeatureExtractor extractor = new ResumeFeatureExtractor();
+        if (text != null) extractor.append(text);
+        return extractor.finish();
+    }
+
+    public ResumeFeatureExtractor append(CharSequence chunk) {
+        int n = chunk.length();
+        for (int i = 0; i < n; i++) {
+            accept(chunk.charAt(i));
+        }
+        return this;
+    }
+
+    public ResumeFeatureExtractor append(char[] chars, int offset, int count) {
+        for (int i = offset, end = offset + count; i < end; i++) {
+            accept(chars[i]);
+        }
+        return this;
+    }
+
+    public ResumeFeatures finish() {
+        int sentences = sentenceCount;
+        int sentenceWords = sentenceWordCount;
+        // A trailing empty segment is dropped, as String.split drops trailing empty strings
+        if (segmentLength > 0) {
+            sentences++;
+            sentenceWords += Math.max(1, segmentWords);
+        }
+        return new ResumeFeatures(groups, hasBullets, quantified, blank,
+                length, wordCount, sentences, sentenceWords);
+    }
+
+    private void accept(char c) {
+        length++;
+
+        char lower = c < 128 ? (c >= 'A' && c <= 'Z' ? (char) (c | 0x20) : c) : Character.toLowerCase(c);
+        if (lower >= 'a' && lower <= 'z') {
+            state = TRANSITIONS[state * ALPHABET + (lower - 'a')];
+            groups |= OUTPUT[state];
+        } else {
+            state = 0;
+        }
+
+        if (c == '•' || c == '-' || c == '*') hasBullets = true;
+        if ((c == '%' || c == 'x' || c == '+') && isDigit(previous)
+                || isDigit(c) && previous == '$') {
+            quantified = true;
+        }
+
+        boolean whitespace = isWhitespace(c);
+        if (blank && !Character.isWhitespace(c)) blank = false;
+        if (whitespace) {
+            inWord = false;
+        } else if (!inWord) {
+            inWord = true;
+            wordCount++;
+        }
+
+        if (c == '.' || c == '!' || c == '?') {
+            if (!inDelimiters) {
+                sentenceCount++;
+                sentenceWordCount += Math.max(1, segmentWords);
+                inDelimiters = true;
+                segmentLength = 0;
+                segmentWords = 0;
+                inSegmentWord = false;
+            }
+        } else {
+            inDelimiters = false;
+            segmentLength++;
+            if (whitespace) {
+                inSegmentWord = false;
+            } else if (!inSegmentWord) {
+                inSegmentWord = true;
+                segmentWords++;
+            }
+        }
+        previous = c;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /**
+     * The regex {@code \s} class: space, tab, newline, vertical tab, form feed, carriage return.
+     */
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || (c >= '\t' && c <= '\r');
+    }
+}
@@ -0,0 +1,54 @@
+package com.resumeanalyzer.util;
+
+import java.util.List;
+
+/**
+ * Surface features of a resume's raw text that the scorers and suggestions need, gathered in one
+ * pass by {@link ResumeFeatureExtractor}.
+ *
+ * @param keywordGroups       bitmask of {@link KeywordGroup}s with at least one keyword in the text
+ * @param hasBullets          text contains a bullet-like marker ({@code •}, {@code -} or {@code *})
+ * @param quantified          text contains a metric such as {@code 40%}, {@code 3x}, {@code $200} or {@code 10+}
+ * @param blank               text is empty or whitespace only
+ * @param length              length in chars
+ * @param wordCount           whitespace-separated words
+ * @param sentenceCount       segments between runs of {@code .}, {@code !} and {@code ?}
+ * @param sentenceWordCount   sum of words per sentence (an empty sentence counts as one word)
+ */
+public record ResumeFeatures(int keywordGroups, boolean hasBullets, boolean quantified, boolean blank,
+                             int length, int wordCount, int sentenceCount, int sentenceWordCount) {
+
+    /**
+     * Keywords looked for anywhere in the lowercased text, substrings included.
+     */
+    public enum KeywordGroup {
+        EXPERIENCE("experience", "worked", "years", "responsible", "led", "managed", "developed", "engineer", "developer"),
+        PROJECT("project", "projects", "built", "implemented", "designed", "portfolio"),
+        EDUCATION("education", "degree", "bachelor", "master", "university", "college", "bsc", "msc", "btech", "mtech"),
+        CERTIFICATION("certification", "certified", "certificate", "aws", "azure", "google", "oracle"),
+        // Section headings an ATS expects to find
+        SECTION("experience", "education", "skills");
+
+        private final List<String> keywords;
+
+        KeywordGroup(String... keywords) {
+            this.keywords = List.of(keywords);
+        }
+
+        public List<String> keywords() {
+            return keywords;
+        }
+
+        int bit() {
+            return 1 << ordinal();
+        }
+    }
+
+    public boolean has(KeywordGroup group) {
+        return (keywordGroups & group.bit()) != 0;
+    }
+
+    public double averageWordsPerSentence() {
+        return sentenceCount == 0 ? 0 : (double) sentenceWordCount / sentenceCount;
+    }
+}
@@ -0,0 +1,77 @@
+package com.resumeanalyzer.util;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Everything scoring needs from a resume, gathered in one pass over its text as the extractor
+ * delivers it: features from the raw characters, and skills, term vector and MinHash signature from
+ * a single stream of cleaned tokens. No cleaned or lowercased copy of the text is built; the only
+ * text kept is the raw text itself, which is persisted with the analysis.
+ * <p>
+ * One instance per document; not thread-safe.
+ */
+public final class ResumeTextAccumulator implements TextExtractor.TextSink {
+
+    /**
+     * The raw text and what was computed from it.
+     */
+    public record Result(String text, Set<String> skills, SparseVector vector, int[] signature,
+                         ResumeFeatures features) {
+    }
+
+    private final SkillDataset skillDataset;
+    private final CosineSimilarity cosineSimilarity;
+
+    private StringBuilder text;
+    private ResumeFeatureExtractor features;
+    private Set<String> skills;
+    private PhraseMatcher.TokenScanner skillScanner;
+    private CosineSimilarity.Vectorizer vectorizer;
+    private MinHasher.Shingler shingler;
+    private TextCleaner.Tokenizer tokenizer;
+
+    public ResumeTextAccumulator(SkillDataset skillDataset, CosineSimilarity cosineSimilarity) {
+        this.skillDataset = skillDataset;
+        this.cosineSimilarity = cosineSimilarity;
+        reset();
+    }
+
+    @Override
+    public void append(char[] chars, int offset, int length) {
+        text.append(chars, offset, length);
+        features.append(chars, offset, length);
+        tokenizer.append(chars, offset, length);
+    }
+
+    public ResumeTextAccumulator append(CharSequence chunk) {
+        text.append(chunk);
+        features.append(chunk);
+        tokenizer.append(chunk);
+        return this;
+    }
+
+    @Override
+    public void reset() {
+        text = new StringBuilder();
+        features = new ResumeFeatureExtractor();
+        skills = new LinkedHashSet<>();
+        skillScanner = skillDataset.skillScanner(skills);
+        vectorizer = cosineSimilarity.vectorizer();
+        shingler = new MinHasher.Shingler();
+        PhraseMatcher.TokenScanner skillTokens = skillScanner;
+        CosineSimilarity.Vectorizer vectorTokens = vectorizer;
+        MinHasher.Shingler shingleTokens = shingler;
+        tokenizer = new TextCleaner.Tokenizer((buffer, length) -> {
+            skillTokens.accept(buffer, length);
+            vectorTokens.accept(buffer, length);
+            shingleTokens.accept(buffer, length);
+        });
+    }
+
+    public Result finish() {
+        tokenizer.finish();
+        skillScanner.finish();
+        return new Result(text.toString(), skills, vectorizer.vector(), shingler.signature(), features.finish());
+    }
+}
@@ -2,29 +2,68 @@ package com.resumeanalyzer.util;
 
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.util.Set;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 /**
- * Predefined skill dataset for extraction from resume and job description.
+ * Skill dataset for extraction from resume and job description.
+ * <p>
+ * Backed by a compiled {@link SkillTaxonomy}: the bundled {@value #BUNDLED_TAXONOMY} until a newer one
+ * is installed (see {@code SkillTaxonomyService}). The current taxonomy is held in a volatile field and
+ * replaced wholesale, so readers never lock and never see a partially built taxonomy.
  */
 @Component
 public class SkillDataset {
 
-    public static final Set<String> KNOWN_SKILLS = Stream.of(
-            "java", "spring", "spring boot", "mysql", "postgresql", "docker", "kubernetes",
-            "aws", "azure", "gcp", "react", "angular", "vue", "node", "nodejs",
-            "python", "javascript", "typescript", "rest", "api", "microservices",
-            "git", "junit", "mockito", "maven", "gradle", "sql", "nosql",
-            "mongodb", "redis", "kafka", "rabbitmq", "jenkins", "ci", "cd",
-            "agile", "scrum", "jira", "html", "css", "tailwind", "redux",
-            "machine learning", "ml", "ai", "tensorflow", "pytorch", "data structures",
-            "algorithms", "oop", "design patterns", "linux", "bash", "terraform",
-            "ansible", "graphql", "elasticsearch", "hibernate", "jpa"
-    ).map(String::toLowerCase).collect(Collectors.toUnmodifiableSet());
+    public static final String BUNDLED_TAXONOMY = "skills/taxonomy.json";
+
+    private volatile SkillTaxonomy taxonomy;
+
+    public SkillDataset() {
+        this.taxonomy = bundledTaxonomy();
+    }
+
+    public SkillDataset(SkillTaxonomy taxonomy) {
+        this.taxonomy = taxonomy;
+    }
+
+    public static SkillTaxonomy bundledTaxonomy() {
+        try (InputStream in = SkillDataset.class.getClassLoader().getResourceAsStream(BUNDLED_TAXONOMY)) {
+            if (in == null) throw new IllegalStateException("Missing " + BUNDLED_TAXONOMY);
+            return SkillTaxonomy.read(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read " + BUNDLED_TAXONOMY, e);
+        }
+    }
+
+    public SkillTaxonomy getTaxonomy() {
+        return taxonomy;
+    }
+
+    /**
+     * Make {@code next} the live taxonomy. Analyses already running keep the one they started with.
+     */
+    public void install(SkillTaxonomy next) {
+        this.taxonomy = next;
+    }
 
     public Set<String> getKnownSkills() {
-        return KNOWN_SKILLS;
+        return taxonomy.skillNames();
+    }
+
+    /**
+     * Canonical skills occurring in the text on word boundaries, matched by name or alias.
+     */
+    public Set<String> extractSkills(String text) {
+        return taxonomy.extractSkills(text);
+    }
+
+    /**
+     * Skill matcher over a token stream, bound to the taxonomy live at the time of the call.
+     */
+    public PhraseMatcher.TokenScanner skillScanner(Set<String> found) {
+        return taxonomy.skillScanner(found);
     }
 }
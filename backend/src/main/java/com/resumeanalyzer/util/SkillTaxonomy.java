@@ -0,0 +1,140 @@
+package com.resumeanalyzer.util;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An immutable, compiled skill taxonomy: canonical skill names with categories and aliases.
+ * <p>
+ * Names and aliases are compiled into one {@link PhraseMatcher}; each phrase id maps straight to its
+ * canonical skill, so extraction reports "kubernetes" whether the text says "Kubernetes" or "k8s".
+ * Instances are read from a versioned JSON document:
+ * <pre>
+ * {"version": 3, "skills": [{"name": "kubernetes", "category": "devops", "aliases": ["k8s"]}]}
+ * </pre>
+ */
+public final class SkillTaxonomy {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    public record Skill(String name, String category, List<String> aliases) {
+    }
+
+    private record Document(Integer version, List<Skill> skills) {
+    }
+
+    private final int version;
+    private final Map<String, Skill> skills;
+    private final PhraseMatcher matcher;
+    // Canonical skill name per matcher phrase id
+    private final String[] canonical;
+
+    private SkillTaxonomy(int version, Map<String, Skill> skills, PhraseMatcher matcher, String[] canonical) {
+        this.version = version;
+        this.skills = skills;
+        this.matcher = matcher;
+        this.canonical = canonical;
+    }
+
+    /**
+     * Parse and compile a taxonomy document.
+     *
+     * @throws IOException              if the document is not valid JSON
+     * @throws IllegalArgumentException if it has no version, no skills, or an ambiguous alias
+     */
+    public static SkillTaxonomy read(InputStream in) throws IOException {
+        Document document = MAPPER.readValue(in, Document.class);
+        if (document.version() == null) {
+            throw new IllegalArgumentException("Skill taxonomy has no version");
+        }
+        return compile(document.version(), document.skills() == null ? List.of() : document.skills());
+    }
+
+    public static SkillTaxonomy compile(int version, List<Skill> skills) {
+        if (skills.isEmpty()) {
+            throw new IllegalArgumentException("Skill taxonomy has no skills");
+        }
+        Map<String, Skill> byName = new LinkedHashMap<>();
+        Map<String, String> canonicalByPhrase = new HashMap<>();
+        for (Skill skill : skills) {
+            String name = skill.name() == null ? "" : PhraseMatcher.normalize(skill.name());
+            if (name.isEmpty()) {
+                throw new IllegalArgumentException("Skill taxonomy has a skill without a name");
+            }
+            List<String> aliases = skill.aliases() == null ? List.of() : skill.aliases();
+            Skill normalized = new Skill(name, skill.category(), List.copyOf(aliases));
+            if (byName.put(name, normalized) != null) {
+                throw new IllegalArgumentException("Duplicate skill: " + name);
+            }
+            Set<String> phrases = new LinkedHashSet<>();
+            phrases.add(name);
+            for (String alias : aliases) {
+                String phrase = alias == null ? "" : PhraseMatcher.normalize(alias);
+                if (!phrase.isEmpty()) phrases.add(phrase);
+            }
+            for (String phrase : phrases) {
+                String previous = canonicalByPhrase.putIfAbsent(phrase, name);
+                if (previous != null && !previous.equals(name)) {
+                    throw new IllegalArgumentException(
+                            "'" + phrase + "' refers to both " + previous + " and " + name);
+                }
+            }
+        }
+
+        PhraseMatcher matcher = PhraseMatcher.compile(new ArrayList<>(canonicalByPhrase.keySet()));
+        String[] canonical = new String[matcher.size()];
+        for (int id = 0; id < canonical.length; id++) {
+            canonical[id] = canonicalByPhrase.get(matcher.phrase(id));
+        }
+        return new SkillTaxonomy(version, Collections.unmodifiableMap(byName), matcher, canonical);
+    }
+
+    public int version() {
+        return version;
+    }
+
+    /**
+     * Canonical skill names.
+     */
+    public Set<String> skillNames() {
+        return skills.keySet();
+    }
+
+    /**
+     * Category of a canonical skill, or null if unknown or uncategorized.
+     */
+    public String category(String skill) {
+        Skill s = skills.get(skill);
+        return s == null ? null : s.category();
+    }
+
+    /**
+     * Canonical skills whose name or any alias occurs in the text on word boundaries.
+     */
+    public Set<String> extractSkills(CharSequence text) {
+        if (text == null || text.length() == 0) return Collections.emptySet();
+        Set<String> found = new LinkedHashSet<>();
+        matcher.scan(text, id -> found.add(canonical[id]));
+        return found;
+    }
+
+    /**
+     * Token-stream form of {@link #extractSkills}: canonical skills found in the tokens it is fed are
+     * added to {@code found}.
+     */
+    public PhraseMatcher.TokenScanner skillScanner(Set<String> found) {
+        return matcher.tokenScanner(id -> found.add(canonical[id]));
+    }
+}
@@ -0,0 +1,108 @@
+package com.resumeanalyzer.util;
+
+import java.util.Arrays;
+
+/**
+ * Immutable sparse term vector: term ids in ascending order with parallel weights and a precomputed
+ * Euclidean norm. Dot products are a merge-join over the two id arrays.
+ */
+public final class SparseVector {
+
+    public static final SparseVector EMPTY = new SparseVector(new int[0], new float[0]);
+
+    private final int[] ids;
+    private final float[] weights;
+    private final double norm;
+
+    private SparseVector(int[] ids, float[] weights) {
+        this.ids = ids;
+        this.weights = weights;
+        double sum = 0;
+        for (float w : weights) sum += (double) w * w;
+        this.norm = Math.sqrt(sum);
+    }
+
+    /**
+     * Term-frequency vector from the first {@code count} entries of an unsorted id array
+     * (one entry per token occurrence). The array is sorted in place.
+     */
+    public static SparseVector fromTermIds(int[] termIds, int count) {
+        if (count == 0) return EMPTY;
+        Arrays.sort(termIds, 0, count);
+        int distinct = 1;
+        for (int i = 1; i < count; i++) {
+            if (termIds[i] != termIds[i - 1]) distinct++;
+        }
+        int[] ids = new int[distinct];
+        float[] weights = new float[distinct];
+        int k = 0;
+        ids[0] = termIds[0];
+        weights[0] = 1;
+        for (int i = 1; i < count; i++) {
+            if (termIds[i] == ids[k]) {
+                weights[k]++;
+            } else {
+                k++;
+                ids[k] = termIds[i];
+                weights[k] = 1;
+            }
+        }
+        return new SparseVector(ids, weights);
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    public boolean isEmpty() {
+        return ids.length == 0;
+    }
+
+    public int id(int index) {
+        return ids[index];
+    }
+
+    public float weight(int index) {
+        return weights[index];
+    }
+
+    public double norm() {
+        return norm;
+    }
+
+    /**
+     * Sum of all weights; for a term-frequency vector this is the token count.
+     */
+    public double totalWeight() {
+        double sum = 0;
+        for (float w : weights) sum += w;
+        return sum;
+    }
+
+    public double dot(SparseVector other) {
+        int[] a = ids;
+        int[] b = other.ids;
+        int i = 0;
+        int j = 0;
+        double sum = 0;
+        while (i < a.length && j < b.length) {
+            int x = a[i];
+            int y = b[j];
+            if (x == y) {
+                sum += (double) weights[i++] * other.weights[j++];
+            } else if (x < y) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Approximate heap footprint in bytes, for size-aware caches.
+     */
+    public long estimatedBytes() {
+        return 48L + ids.length * 8L;
+    }
+}
@@ -0,0 +1,145 @@
+package com.resumeanalyzer.util;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+
+/**
+ * Interns terms to dense int ids so term vectors can be stored as primitive arrays.
+ * <p>
+ * Lookups are lock-free: the open-addressing table is replaced wholesale on resize and entries are
+ * immutable, so a reader sees either a complete entry or none and falls back to the locked insert path.
+ * Once {@code maxTerms} distinct terms are interned, further terms map to a fixed range of hashed
+ * overflow ids so the dictionary cannot grow without bound; colliding rare terms then share an id.
+ */
+@Component
+public class TermDictionary {
+
+    public static final int DEFAULT_MAX_TERMS = 1_000_000;
+
+    private static final int OVERFLOW_BUCKETS = 1 << 16;
+
+    private static final class Entry {
+        final char[] key;
+        final int hash;
+        final int id;
+
+        Entry(char[] key, int hash, int id) {
+            this.key = key;
+            this.hash = hash;
+            this.id = id;
+        }
+    }
+
+    private final int maxTerms;
+    private volatile Entry[] table = new Entry[1024];
+    private volatile String[] terms = new String[512];
+    private volatile int size;
+
+    public TermDictionary(@Value("${app.analysis.max-terms:" + DEFAULT_MAX_TERMS + "}") int maxTerms) {
+        this.maxTerms = maxTerms;
+    }
+
+    /**
+     * Id of the term in the first {@code length} chars of {@code buffer}, interning it if new.
+     */
+    public int id(char[] buffer, int length) {
+        int hash = hash(buffer, length);
+        int id = find(table, buffer, length, hash);
+        return id >= 0 ? id : insert(buffer, length, hash);
+    }
+
+    public int id(String term) {
+        return id(term.toCharArray(), term.length());
+    }
+
+    /**
+     * Id of an already interned term (its overflow id once the dictionary is full), or -1.
+     * Never grows the dictionary.
+     */
+    public int lookup(char[] buffer, int length) {
+        int hash = hash(buffer, length);
+        int id = find(table, buffer, length, hash);
+        return id >= 0 || size < maxTerms ? id : overflowId(hash);
+    }
+
+    /**
+     * Term for an id, or null for overflow ids and unknown ids.
+     */
+    public String term(int id) {
+        if (id < 0 || id >= size) return null;
+        return terms[id];
+    }
+
+    /**
+     * Number of interned terms (overflow ids excluded).
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Exclusive upper bound of all ids this dictionary can hand out, including overflow ids.
+     */
+    public int idLimit() {
+        return maxTerms + OVERFLOW_BUCKETS;
+    }
+
+    private synchronized int insert(char[] buffer, int length, int hash) {
+        Entry[] current = table;
+        int id = find(current, buffer, length, hash);
+        if (id >= 0) return id;
+        if (size >= maxTerms) return overflowId(hash);
+
+        id = size;
+        if ((id + 1) * 2 > current.length) {
+            current = rehash(current, current.length * 2);
+        }
+        int mask = current.length - 1;
+        int slot = hash & mask;
+        while (current[slot] != null) slot = (slot + 1) & mask;
+        current[slot] = new Entry(Arrays.copyOf(buffer, length), hash, id);
+
+        String[] names = terms;
+        if (id == names.length) {
+            names = Arrays.copyOf(names, names.length * 2);
+        }
+        names[id] = new String(buffer, 0, length);
+        terms = names;
+        table = current;
+        size = id + 1;
+        return id;
+    }
+
+    private int overflowId(int hash) {
+        return maxTerms + (hash & (OVERFLOW_BUCKETS - 1));
+    }
+
+    private static Entry[] rehash(Entry[] old, int capacity) {
+        Entry[] resized = new Entry[capacity];
+        int mask = capacity - 1;
+        for (Entry e : old) {
+            if (e == null) continue;
+            int slot = e.hash & mask;
+            while (resized[slot] != null) slot = (slot + 1) & mask;
+            resized[slot] = e;
+        }
+        return resized;
+    }
+
+    private static int find(Entry[] t, char[] buffer, int length, int hash) {
+        int mask = t.length - 1;
+        for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+            Entry e = t[slot];
+            if (e == null) return -1;
+            if (e.hash == hash && Arrays.equals(e.key, 0, e.key.length, buffer, 0, length)) return e.id;
+        }
+    }
+
+    private static int hash(char[] buffer, int length) {
+        int h = 0;
+        for (int i = 0; i < length; i++) h = 31 * h + buffer[i];
+        return h ^ (h >>> 16);
+    }
+}
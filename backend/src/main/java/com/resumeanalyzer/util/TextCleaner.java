@@ -2,46 +2,200 @@ package com.resumeanalyzer.util;
 
 import org.springframework.stereotype.Component;
 
+import java.nio.CharBuffer;
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.List;
 
 /**
  * Cleans and normalizes text for analysis: lowercase, remove special chars, stopwords.
+ * <p>
+ * Tokenization is a single hand-written pass over the characters: letters and digits of any script
+ * (plus combining marks) form tokens, everything else separates them. ASCII goes through a lookup
+ * table; other characters are handled per code point. Tokens are written into a reused buffer and
+ * handed to a {@link TokenSink}, so callers that only need counts or ids never allocate a String.
  */
 @Component
 public class TextCleaner {
 
-    private static final Set<String> STOPWORDS = Set.of(
+    private static final String[] STOPWORDS = {
             "the", "a", "an", "and", "or", "but", "in", "on", "at", "to", "for",
             "of", "with", "by", "from", "as", "is", "was", "are", "were", "been",
             "be", "have", "has", "had", "do", "does", "did", "will", "would",
             "could", "should", "may", "might", "must", "shall", "can", "need",
             "this", "that", "these", "those", "i", "you", "he", "she", "it",
             "we", "they", "what", "which", "who", "when", "where", "why", "how"
-    );
+    };
+
+    // Open-addressing table of stopwords, probed with the same hash as String.hashCode over the token buffer
+    private static final int STOPWORD_MASK = 127;
+    private static final char[][] STOPWORD_TABLE = new char[STOPWORD_MASK + 1][];
+
+    // Lowercase mapping for ASCII; 0 marks a separator
+    private static final char[] ASCII_FOLD = new char[128];
+
+    static {
+        for (char c = '0'; c <= '9'; c++) ASCII_FOLD[c] = c;
+        for (char c = 'a'; c <= 'z'; c++) ASCII_FOLD[c] = c;
+        for (char c = 'A'; c <= 'Z'; c++) ASCII_FOLD[c] = (char) (c + ('a' - 'A'));
+
+        for (String word : STOPWORDS) {
+            int slot = word.hashCode() & STOPWORD_MASK;
+            while (STOPWORD_TABLE[slot] != null) slot = (slot + 1) & STOPWORD_MASK;
+            STOPWORD_TABLE[slot] = word.toCharArray();
+        }
+    }
+
+    /**
+     * Receives each token as the first {@code length} chars of {@code buffer}. The buffer is reused
+     * for the next token, so implementations must copy whatever they keep.
+     */
+    @FunctionalInterface
+    public interface TokenSink {
+        void accept(char[] buffer, int length);
+    }
 
     /**
      * Lowercase, remove non-alphanumeric (keep spaces), remove stopwords.
      */
     public String clean(String text) {
         if (text == null || text.isBlank()) return "";
-
-        String lower = text.toLowerCase().trim();
-        // Keep letters, numbers, spaces; replace other chars with space
-        String noSpecial = lower.replaceAll("[^a-z0-9\\s]", " ");
-        String singleSpaces = noSpecial.replaceAll("\\s+", " ").trim();
-
-        return Arrays.stream(singleSpaces.split("\\s+"))
-                .filter(word -> !word.isEmpty() && !STOPWORDS.contains(word))
-                .collect(Collectors.joining(" "));
+        StringBuilder sb = new StringBuilder(text.length());
+        tokenize(text, (buffer, length) -> {
+            if (sb.length() > 0) sb.append(' ');
+            sb.append(buffer, 0, length);
+        });
+        return sb.toString();
     }
 
     /**
      * Returns cleaned text as array of tokens (for word frequency).
      */
     public String[] tokenize(String text) {
-        String cleaned = clean(text);
-        return cleaned.isEmpty() ? new String[0] : cleaned.split("\\s+");
+        if (text == null || text.isEmpty()) return new String[0];
+        List<String> tokens = new ArrayList<>();
+        tokenize(text, (buffer, length) -> tokens.add(new String(buffer, 0, length)));
+        return tokens.toArray(new String[0]);
+    }
+
+    /**
+     * Single pass: lowercase, split on non-alphanumerics, drop stopwords, emit each token to the sink.
+     */
+    public void tokenize(CharSequence text, TokenSink sink) {
+        if (text == null) return;
+        new Tokenizer(sink).append(text).finish();
+    }
+
+    /**
+     * Incremental form of {@link #tokenize(CharSequence, TokenSink)} for text that arrives in chunks:
+     * a token or surrogate pair split across chunks is carried over to the next one. Call
+     * {@link #finish} after the last chunk to emit the final token.
+     */
+    public static final class Tokenizer {
+
+        private final TokenSink sink;
+        private char[] buffer = new char[32];
+        private int length;
+        // High surrogate that ended the previous chunk, or 0
+        private char pendingHigh;
+
+        public Tokenizer(TokenSink sink) {
+            this.sink = sink;
+        }
+
+        public Tokenizer append(char[] chars, int offset, int count) {
+            return append(CharBuffer.wrap(chars, offset, count));
+        }
+
+        public Tokenizer append(CharSequence text) {
+            int n = text.length();
+            int i = 0;
+            if (pendingHigh != 0 && n > 0) {
+                char high = pendingHigh;
+                pendingHigh = 0;
+                if (Character.isLowSurrogate(text.charAt(0))) {
+                    acceptCodePoint(Character.toCodePoint(high, text.charAt(0)));
+                    i = 1;
+                } else {
+                    acceptCodePoint(high);
+                }
+            }
+            for (; i < n; i++) {
+                char c = text.charAt(i);
+                if (c < 128) {
+                    char folded = ASCII_FOLD[c];
+                    if (folded == 0) {
+                        if (length > 0) emit(buffer, length, sink);
+                        length = 0;
+                        continue;
+                    }
+                    if (length == buffer.length) buffer = Arrays.copyOf(buffer, length * 2);
+                    buffer[length++] = folded;
+                    continue;
+                }
+
+                int codePoint = c;
+                if (Character.isHighSurrogate(c)) {
+                    if (i + 1 == n) {
+                        pendingHigh = c;
+                        break;
+                    }
+                    if (Character.isLowSurrogate(text.charAt(i + 1))) {
+                        codePoint = Character.toCodePoint(c, text.charAt(++i));
+                    }
+                }
+                acceptCodePoint(codePoint);
+            }
+            return this;
+        }
+
+        public void finish() {
+            if (pendingHigh != 0) {
+                acceptCodePoint(pendingHigh);
+                pendingHigh = 0;
+            }
+            if (length > 0) emit(buffer, length, sink);
+            length = 0;
+        }
+
+        private void acceptCodePoint(int codePoint) {
+            if (!isTokenCodePoint(codePoint)) {
+                if (length > 0) emit(buffer, length, sink);
+                length = 0;
+                return;
+            }
+            if (length + 2 > buffer.length) buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            length += Character.toChars(Character.toLowerCase(codePoint), buffer, length);
+        }
+    }
+
+    /**
+     * Whether a non-ASCII code point belongs inside a token: letters, digits and combining marks
+     * (so scripts that attach vowel signs to consonants are not split mid-word).
+     */
+    static boolean isTokenCodePoint(int codePoint) {
+        if (Character.isLetterOrDigit(codePoint)) return true;
+        int type = Character.getType(codePoint);
+        return type == Character.NON_SPACING_MARK
+                || type == Character.COMBINING_SPACING_MARK
+                || type == Character.ENCLOSING_MARK;
+    }
+
+    private static void emit(char[] buffer, int length, TokenSink sink) {
+        if (!isStopword(buffer, length)) {
+            sink.accept(buffer, length);
+        }
+    }
+
+    private static boolean isStopword(char[] buffer, int length) {
+        if (length > 6) return false;
+        int hash = 0;
+        for (int i = 0; i < length; i++) hash = 31 * hash + buffer[i];
+        for (int slot = hash & STOPWORD_MASK; STOPWORD_TABLE[slot] != null; slot = (slot + 1) & STOPWORD_MASK) {
+            if (Arrays.equals(STOPWORD_TABLE[slot], 0, STOPWORD_TABLE[slot].length, buffer, 0, length)) {
+                return true;
+            }
+        }
+        return false;
     }
 }
@@ -1,48 +1,508 @@
 package com.resumeanalyzer.util;
 
 import com.resumeanalyzer.exception.InvalidFileException;
+import com.resumeanalyzer.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.tika.Tika;
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
 import org.apache.tika.exception.TikaException;
+import org.apache.tika.metadata.Metadata;
+import org.apache.tika.parser.AutoDetectParser;
+import org.apache.tika.parser.ParseContext;
+import org.apache.tika.parser.Parser;
+import org.apache.tika.parser.pdf.PDFParserConfig;
+import org.apache.tika.sax.BodyContentHandler;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.xml.sax.Attributes;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.DefaultHandler;
 
+import javax.xml.XMLConstants;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParser;
+import javax.xml.parsers.SAXParserFactory;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.Writer;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
 
 /**
- * Extracts text from PDF and DOCX using Apache Tika.
+ * Extracts text from PDF, DOCX and plain text uploads. The content type comes from {@link UploadReader}.
+ * <p>
+ * Parsing runs on the bounded extraction pool of platform threads. It is CPU-heavy and PDFBox/POI
+ * read the upload inside synchronized code, so on a virtual request thread it would pin a carrier
+ * thread for the whole parse; handing it off keeps virtual-thread request handling unblocked and caps
+ * concurrent parses at the pool size in either mode.
+ * <p>
+ * Each document is bounded so a pathological file only fails its own request: a full pool is refused
+ * with 429, a parse still running at the deadline is cancelled and the file rejected, text beyond the
+ * character limit is dropped, and PDFBox gets a fixed memory budget. Cancellation is cooperative: the
+ * parse stops at its next chunk of text, and the worker is interrupted.
+ * <p>
+ * PDF and DOCX go through format-specific fast paths that skip Tika's detection and parser stack:
+ * PDFBox text stripping, and a SAX pass over the document, header and footer parts of the DOCX
+ * archive. Anything a fast path fails on, or finds no text in, is parsed again by Tika.
  */
 @Component
 @Slf4j
-public class TextExtractor {
+public class TextExtractor implements MeterBinder {
 
     private static final Set<String> ALLOWED_TYPES = Set.of(
-            "application/pdf",
-            "application/vnd.openxmlformats-officedocument.wordprocessingml.document", // DOCX
-            "text/plain"  // for tests and pasted resume text
+            UploadReader.PDF,
+            UploadReader.DOCX,
+            UploadReader.TEXT  // for tests and pasted resume text
     );
 
-    private final Tika tika = new Tika();
+    // Same as Tika.parseToString
+    static final int DEFAULT_MAX_CHARS = 100_000;
+    private static final String WORDML_NS = "http://schemas.openxmlformats.org/wordprocessingml/2006/main";
+    private static final Pattern DOCX_TEXT_PART = Pattern.compile("word/(document|header\\d*|footer\\d*)\\.xml");
+    // Inflated size of one DOCX part the fast path will read; larger archives are left to Tika's zip-bomb checks
+    private static final long MAX_DOCX_PART_BYTES = 64L * 1024 * 1024;
 
+    private final Parser parser = new AutoDetectParser();
+    private final ThreadPoolExecutor pool;
+    private final long timeoutMs;
+    private final int maxChars;
+    private final long maxMemoryBytes;
+    private final boolean fastPaths;
+    private final SAXParserFactory saxParserFactory = secureSaxParserFactory();
+
+    private final LongAdder fastParses = new LongAdder();
+    private final LongAdder tikaParses = new LongAdder();
+    private final LongAdder fallbacks = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder truncated = new LongAdder();
+
+    /**
+     * Parses on the calling thread, without a deadline or memory budget.
+     */
+    public TextExtractor() {
+        this(null, 0, DEFAULT_MAX_CHARS, -1, true);
+    }
+
+    /**
+     * @param extractionExecutor pool to parse on, or {@code null} to parse on the calling thread
+     * @param fastPaths          whether PDF and DOCX skip Tika when they can
+     */
+    @Autowired
+    public TextExtractor(ThreadPoolExecutor extractionExecutor,
+                         @Value("${app.extraction.timeout-ms:30000}") long timeoutMs,
+                         @Value("${app.extraction.max-chars:100000}") int maxChars,
+                         @Value("${app.extraction.max-memory-bytes:134217728}") long maxMemoryBytes,
+                         @Value("${app.extraction.fast-paths:true}") boolean fastPaths) {
+        this.pool = extractionExecutor;
+        this.timeoutMs = timeoutMs;
+        this.maxChars = maxChars;
+        this.maxMemoryBytes = maxMemoryBytes;
+        this.fastPaths = fastPaths;
+    }
+
+    /**
+     * Receives extracted text in chunks, in document order. {@link #reset} discards everything received
+     * so far, when a fast path fails part-way and Tika parses the document again.
+     */
+    public interface TextSink {
+
+        void append(char[] chars, int offset, int length);
+
+        void reset();
+    }
+
+    /**
+     * @throws InvalidFileException if the type is not allowed, the file cannot be parsed, has no text
+     *                              or takes longer than the deadline
+     * @throws TooManyRequestsException if the extraction pool is saturated
+     */
     public String extractText(InputStream inputStream, String contentType) {
+        StringBuilder text = new StringBuilder();
+        extractText(inputStream, contentType, new TextSink() {
+            @Override
+            public void append(char[] chars, int offset, int length) {
+                text.append(chars, offset, length);
+            }
+
+            @Override
+            public void reset() {
+                text.setLength(0);
+            }
+        });
+        return text.toString();
+    }
+
+    /**
+     * Streams the document's text into {@code sink} instead of building a String; at most the
+     * character limit is delivered. Failures are as for {@link #extractText(InputStream, String)}.
+     */
+    public void extractText(InputStream inputStream, String contentType, TextSink sink) {
         if (contentType == null || !ALLOWED_TYPES.contains(contentType)) {
             throw new InvalidFileException("Only PDF, DOCX, or plain text files are allowed");
         }
 
+        BoundedTextHandler handler = new BoundedTextHandler(sink, maxChars);
+        if (pool == null) {
+            parse(inputStream, contentType, handler);
+        } else {
+            parseOnPool(inputStream, contentType, handler);
+        }
+        if (handler.isBlank()) {
+            throw new InvalidFileException("Could not extract text from file. File may be empty or corrupted.");
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (pool != null) {
+            Gauge.builder("analysis.extraction.pool.active", pool, ThreadPoolExecutor::getActiveCount).register(registry);
+            Gauge.builder("analysis.extraction.pool.queued", pool, executor -> executor.getQueue().size()).register(registry);
+        }
+        FunctionCounter.builder("analysis.extraction.parses", fastParses, LongAdder::sum)
+                .tag("parser", "fast").register(registry);
+        FunctionCounter.builder("analysis.extraction.parses", tikaParses, LongAdder::sum)
+                .tag("parser", "tika").register(registry);
+        FunctionCounter.builder("analysis.extraction.fallbacks", fallbacks, LongAdder::sum).register(registry);
+        FunctionCounter.builder("analysis.extraction.timeouts", timeouts, LongAdder::sum).register(registry);
+        FunctionCounter.builder("analysis.extraction.rejected", rejected, LongAdder::sum).register(registry);
+        FunctionCounter.builder("analysis.extraction.truncated", truncated, LongAdder::sum).register(registry);
+    }
+
+    private void parseOnPool(InputStream inputStream, String contentType, BoundedTextHandler handler) {
+        Future<?> parse;
         try {
-            String text = tika.parseToString(inputStream);
-            if (text == null || text.isBlank()) {
-                throw new InvalidFileException("Could not extract text from file. File may be empty or corrupted.");
+            parse = pool.submit(() -> parse(inputStream, contentType, handler));
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new TooManyRequestsException("Too many files are being processed, please retry shortly");
+        }
+        try {
+            if (timeoutMs > 0) {
+                parse.get(timeoutMs, TimeUnit.MILLISECONDS);
+            } else {
+                parse.get();
+            }
+        } catch (TimeoutException e) {
+            cancel(parse, handler);
+            timeouts.increment();
+            log.warn("Text extraction cancelled after {} ms", timeoutMs);
+            throw new InvalidFileException("File took too long to process. It may be corrupted or too complex.");
+        } catch (InterruptedException e) {
+            cancel(parse, handler);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while extracting text", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private void cancel(Future<?> parse, BoundedTextHandler handler) {
+        handler.cancelled = true;
+        parse.cancel(true);
+        // Still queued: free its slot now rather than when a worker skips it
+        if (parse instanceof Runnable task) pool.remove(task);
+    }
+
+    private void parse(InputStream inputStream, String contentType, BoundedTextHandler handler) {
+        boolean pdf = UploadReader.PDF.equals(contentType);
+        if (fastPaths && (pdf || UploadReader.DOCX.equals(contentType)) && inputStream.markSupported()) {
+            inputStream.mark(Integer.MAX_VALUE);
+            try {
+                if (pdf) {
+                    stripPdf(inputStream, handler);
+                } else {
+                    stripDocx(inputStream, handler);
+                }
+                if (!handler.isBlank()) {
+                    fastParses.increment();
+                    return;
+                }
+            } catch (IOException | SAXException | ParserConfigurationException | RuntimeException e) {
+                if (handler.limitReached) {
+                    fastParses.increment();
+                    truncated.increment();
+                    return;
+                }
+                if (handler.cancelled) return;
+                log.debug("Fast {} extraction failed, falling back to Tika: {}", contentType, e.toString());
+            }
+            fallbacks.increment();
+            handler.clear();
+            try {
+                inputStream.reset();
+            } catch (IOException e) {
+                throw new InvalidFileException("Failed to extract text from file: " + e.getMessage());
             }
-            return text;
-        } catch (IOException | TikaException e) {
+        }
+        parseWithTika(inputStream, handler);
+    }
+
+    private void parseWithTika(InputStream inputStream, BoundedTextHandler handler) {
+        tikaParses.increment();
+        ParseContext context = new ParseContext();
+        context.set(Parser.class, parser);
+        if (maxMemoryBytes > 0) {
+            PDFParserConfig pdfConfig = new PDFParserConfig();
+            pdfConfig.setMaxMainMemoryBytes(maxMemoryBytes);
+            context.set(PDFParserConfig.class, pdfConfig);
+        }
+        try (inputStream) {
+            parser.parse(inputStream, new BodyContentHandler(handler), new Metadata(), context);
+        } catch (IOException | SAXException | TikaException e) {
+            if (handler.limitReached) {
+                truncated.increment();
+                return;
+            }
+            if (handler.cancelled) return;
             log.warn("Text extraction failed: {}", e.getMessage());
             throw new InvalidFileException("Failed to extract text from file: " + e.getMessage());
         }
     }
 
-    public String detectContentType(InputStream inputStream) throws IOException {
-        return tika.detect(inputStream);
+    /**
+     * PDFBox text stripping. Documents stay in memory up to the memory budget and spill to a scratch
+     * file beyond it; overlapping-text suppression and bead separation, which cost time per glyph and
+     * matter little for scoring, are off.
+     */
+    private void stripPdf(InputStream inputStream, BoundedTextHandler handler) throws IOException {
+        MemoryUsageSetting memory = maxMemoryBytes > 0
+                ? MemoryUsageSetting.setupMixed(maxMemoryBytes, 4 * maxMemoryBytes)
+                : MemoryUsageSetting.setupMainMemoryOnly();
+        try (PDDocument document = PDDocument.load(inputStream, memory)) {
+            PDFTextStripper stripper = new PDFTextStripper();
+            stripper.setSortByPosition(false);
+            stripper.setSuppressDuplicateOverlappingText(false);
+            stripper.setShouldSeparateByBeads(false);
+            stripper.setLineSeparator("\n");
+            stripper.writeText(document, new HandlerWriter(handler));
+        }
+    }
+
+    /**
+     * Streams the text runs of the document, header and footer parts out of the archive; the rest of
+     * the package (styles, media, relationships) is skipped without parsing.
+     */
+    private void stripDocx(InputStream inputStream, BoundedTextHandler handler)
+            throws IOException, SAXException, ParserConfigurationException {
+        boolean foundDocument = false;
+        ZipInputStream zip = new ZipInputStream(inputStream);
+        for (ZipEntry entry; (entry = zip.getNextEntry()) != null; ) {
+            Matcher part = DOCX_TEXT_PART.matcher(entry.getName());
+            if (!part.matches()) continue;
+            foundDocument |= "document".equals(part.group(1));
+            SAXParser saxParser;
+            synchronized (saxParserFactory) {
+                saxParser = saxParserFactory.newSAXParser();
+            }
+            saxParser.parse(new PartInputStream(zip), new WordprocessingTextHandler(handler));
+        }
+        if (!foundDocument) throw new IOException("No word/document.xml part");
+    }
+
+    private static SAXParserFactory secureSaxParserFactory() {
+        SAXParserFactory factory = SAXParserFactory.newInstance();
+        factory.setNamespaceAware(true);
+        try {
+            factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+            factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+        } catch (ParserConfigurationException | SAXException e) {
+            throw new IllegalStateException("XML parser does not support secure processing", e);
+        }
+        return factory;
+    }
+
+    /**
+     * Passes body text to the sink up to a character limit, and aborts the parse once the limit is
+     * reached or the extraction is cancelled.
+     */
+    private static final class BoundedTextHandler extends DefaultHandler {
+
+        private final TextSink sink;
+        private final int maxChars;
+        private int delivered;
+        private boolean hasText;
+        private volatile boolean cancelled;
+        private boolean limitReached;
+
+        BoundedTextHandler(TextSink sink, int maxChars) {
+            this.sink = sink;
+            this.maxChars = maxChars;
+        }
+
+        boolean isBlank() {
+            return !hasText;
+        }
+
+        void clear() {
+            sink.reset();
+            delivered = 0;
+            hasText = false;
+            limitReached = false;
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) throws SAXException {
+            if (cancelled) throw new SAXException("Text extraction cancelled");
+            int room = maxChars - delivered;
+            int accepted = Math.min(length, room);
+            if (accepted > 0) {
+                sink.append(ch, start, accepted);
+                delivered += accepted;
+                if (!hasText) {
+                    for (int i = start; i < start + accepted; i++) {
+                        if (!Character.isWhitespace(ch[i])) {
+                            hasText = true;
+                            break;
+                        }
+                    }
+                }
+            }
+            if (length > room) {
+                limitReached = true;
+                throw new SAXException("Text limit of " + maxChars + " characters reached");
+            }
+        }
+
+        @Override
+        public void ignorableWhitespace(char[] ch, int start, int length) throws SAXException {
+            characters(ch, start, length);
+        }
+    }
+
+    /**
+     * Text of a WordprocessingML part: {@code w:t} runs, with tabs and breaks inside runs, a tab after
+     * each table cell and a newline after each paragraph.
+     */
+    private static final class WordprocessingTextHandler extends DefaultHandler {
+
+        private static final char[] TAB = {'\t'};
+        private static final char[] NEWLINE = {'\n'};
+
+        private final BoundedTextHandler text;
+        private boolean inRun;
+        private boolean inText;
+
+        WordprocessingTextHandler(BoundedTextHandler text) {
+            this.text = text;
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) throws SAXException {
+            if (!WORDML_NS.equals(uri)) return;
+            switch (localName) {
+                case "r" -> inRun = true;
+                case "t" -> inText = inRun;
+                case "tab" -> {
+                    if (inRun) text.characters(TAB, 0, 1);
+                }
+                case "br", "cr" -> {
+                    if (inRun) text.characters(NEWLINE, 0, 1);
+                }
+                default -> {
+                }
+            }
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) throws SAXException {
+            if (!WORDML_NS.equals(uri)) return;
+            switch (localName) {
+                case "r" -> inRun = false;
+                case "t" -> inText = false;
+                case "tc" -> text.characters(TAB, 0, 1);
+                case "p" -> text.characters(NEWLINE, 0, 1);
+                default -> {
+                }
+            }
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) throws SAXException {
+            if (inText) text.characters(ch, start, length);
+        }
+    }
+
+    /**
+     * Hands PDFBox output to the bounded handler, surfacing its limit and cancellation as I/O errors.
+     */
+    private static final class HandlerWriter extends Writer {
+
+        private final BoundedTextHandler handler;
+
+        HandlerWriter(BoundedTextHandler handler) {
+            this.handler = handler;
+        }
+
+        @Override
+        public void write(char[] buffer, int offset, int length) throws IOException {
+            try {
+                handler.characters(buffer, offset, length);
+            } catch (SAXException e) {
+                throw new IOException(e.getMessage(), e);
+            }
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    /**
+     * The current zip entry, left open for the next entry after the XML parser closes it, and refused
+     * past the inflated size limit.
+     */
+    private static final class PartInputStream extends FilterInputStream {
+
+        private long remaining = MAX_DOCX_PART_BYTES;
+
+        PartInputStream(InputStream zip) {
+            super(zip);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) consume(1);
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0) consume(read);
+            return read;
+        }
+
+        private void consume(int bytes) throws IOException {
+            remaining -= bytes;
+            if (remaining < 0) throw new IOException("DOCX part larger than " + MAX_DOCX_PART_BYTES + " bytes");
+        }
+
+        @Override
+        public void close() {
+        }
     }
 }
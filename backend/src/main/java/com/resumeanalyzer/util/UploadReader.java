@@ -0,0 +1,137 @@
+package com.resumeanalyzer.util;
+
+import com.resumeanalyzer.exception.InvalidFileException;
+import com.resumeanalyzer.service.ExtractionCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Arrays;
+
+/**
+ * Reads an upload in a single pass: the content type is sniffed from the leading bytes, the size limit
+ * is enforced while streaming, and the bytes are hashed and buffered for the parser as they arrive.
+ * <p>
+ * A file that is not a PDF, DOCX or plain text is rejected after the first {@value #SNIFF_BYTES} bytes,
+ * and an oversized one as soon as it passes the limit (or before reading at all when its size is
+ * declared), instead of after buffering the whole upload.
+ */
+@Component
+public class UploadReader {
+
+    public static final String PDF = "application/pdf";
+    public static final String DOCX = "application/vnd.openxmlformats-officedocument.wordprocessingml.document";
+    public static final String TEXT = "text/plain";
+
+    static final int SNIFF_BYTES = 8192;
+    private static final int DEFAULT_CAPACITY = 64 * 1024;
+    // PDF readers accept a header anywhere in the first KB
+    private static final int PDF_HEADER_WINDOW = 1024;
+    private static final byte[] PDF_MAGIC = "%PDF-".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] ZIP_MAGIC = {'P', 'K', 3, 4};
+    private static final byte[] DOCX_MAIN_PART = "word/document.xml".getBytes(StandardCharsets.US_ASCII);
+    private static final String NOT_ALLOWED = "Only PDF, DOCX, or plain text files are allowed";
+
+    private final long maxBytes;
+
+    public UploadReader(@Value("${app.extraction.max-upload-bytes:10485760}") long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * A buffered upload with its sniffed content type and SHA-256 extraction cache key.
+     */
+    public record Upload(byte[] buffer, int length, String contentType, String key) {
+
+        public InputStream stream() {
+            return new ByteArrayInputStream(buffer, 0, length);
+        }
+
+        public byte[] bytes() {
+            return length == buffer.length ? buffer : Arrays.copyOf(buffer, length);
+        }
+    }
+
+    /**
+     * @param declaredSize size reported by the client, or a negative value if unknown
+     * @throws InvalidFileException if the content is not an allowed type
+     * @throws MaxUploadSizeExceededException if the upload is larger than the limit
+     */
+    public Upload read(InputStream in, long declaredSize) throws IOException {
+        if (declaredSize > maxBytes) throw new MaxUploadSizeExceededException(maxBytes);
+        MessageDigest digest = ExtractionCache.newDigest();
+        byte[] buffer = new byte[declaredSize > 0 ? (int) declaredSize : (int) Math.min(DEFAULT_CAPACITY, maxBytes + 1)];
+        int length = 0;
+        String contentType = null;
+        while (true) {
+            if (length == buffer.length) {
+                // The declared size may be wrong; probe before growing the buffer
+                int next = in.read();
+                if (next == -1) break;
+                buffer = Arrays.copyOf(buffer, (int) Math.min(Math.max(2L * buffer.length, 16), maxBytes + 1));
+                buffer[length++] = (byte) next;
+                digest.update((byte) next);
+            }
+            int limit = contentType == null ? Math.min(SNIFF_BYTES, buffer.length) : buffer.length;
+            int read = in.read(buffer, length, limit - length);
+            if (read == -1) break;
+            digest.update(buffer, length, read);
+            length += read;
+            if (length > maxBytes) throw new MaxUploadSizeExceededException(maxBytes);
+            if (contentType == null && length >= SNIFF_BYTES) contentType = sniff(buffer, length);
+        }
+        if (contentType == null) contentType = sniff(buffer, length);
+        if (DOCX.equals(contentType) && indexOf(buffer, length, DOCX_MAIN_PART) < 0) {
+            // Some other zip container (XLSX, PPTX, JAR, ...)
+            throw new InvalidFileException(NOT_ALLOWED);
+        }
+        return new Upload(buffer, length, contentType, ExtractionCache.key(digest));
+    }
+
+    /**
+     * Content type from the leading bytes of an upload. Zip containers are reported as DOCX and
+     * confirmed once the whole file is read.
+     */
+    static String sniff(byte[] head, int length) {
+        if (startsWith(head, length, ZIP_MAGIC)) return DOCX;
+        if (indexOf(head, Math.min(length, PDF_HEADER_WINDOW), PDF_MAGIC) >= 0) return PDF;
+        if (looksLikeText(head, length)) return TEXT;
+        throw new InvalidFileException(NOT_ALLOWED);
+    }
+
+    /**
+     * No NUL bytes and only a few control characters other than whitespace, as in any single-byte or
+     * UTF-8 text.
+     */
+    private static boolean looksLikeText(byte[] head, int length) {
+        if (length == 0) return false;
+        int control = 0;
+        for (int i = 0; i < length; i++) {
+            int b = head[i] & 0xff;
+            if (b == 0) return false;
+            if (b < 0x20 && b != '\t' && b != '\n' && b != '\r' && b != '\f' && b != 0x1b) control++;
+        }
+        return control * 20 < length;
+    }
+
+    private static boolean startsWith(byte[] bytes, int length, byte[] prefix) {
+        return length >= prefix.length && Arrays.equals(bytes, 0, prefix.length, prefix, 0, prefix.length);
+    }
+
+    private static int indexOf(byte[] bytes, int length, byte[] pattern) {
+        outer:
+        for (int i = 0; i <= length - pattern.length; i++) {
+            if (bytes[i] != pattern[0]) continue;
+            for (int j = 1; j < pattern.length; j++) {
+                if (bytes[i + j] != pattern[j]) continue outer;
+            }
+            return i;
+        }
+        return -1;
+    }
+}
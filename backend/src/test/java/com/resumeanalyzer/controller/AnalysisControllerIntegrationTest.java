@@ -4,6 +4,8 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.resumeanalyzer.dto.AuthResponse;
 import com.resumeanalyzer.dto.LoginRequest;
 import com.resumeanalyzer.dto.RegisterRequest;
+import com.resumeanalyzer.metrics.AnalysisMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.MethodOrderer;
 import org.junit.jupiter.api.Order;
@@ -17,8 +19,10 @@ import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -35,6 +39,9 @@ class AnalysisControllerIntegrationTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     private String jwtToken;
 
     @BeforeAll
@@ -99,4 +106,97 @@ class AnalysisControllerIntegrationTest {
                         .param("jobDescription", "Java developer"))
                 .andExpect(status().isUnauthorized());
     }
+
+    @Test
+    @Order(3)
+    void analyzeBatch_ranksResumesAndReportsFailuresInline() throws Exception {
+        MockMultipartFile strong = new MockMultipartFile("resumes", "strong.txt", "text/plain",
+                "Experience: Java, Spring, Docker, AWS and React developer. Projects: built microservices.".getBytes());
+        MockMultipartFile weak = new MockMultipartFile("resumes", "weak.txt", "text/plain",
+                "Experience: Python developer.".getBytes());
+        MockMultipartFile broken = new MockMultipartFile("resumes", "image.png", "image/png",
+                new byte[]{(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n', 0, 0, 0, 0});
+
+        mockMvc.perform(MockMvcRequestBuilders.multipart("/api/analyze/batch")
+                        .file(weak)
+                        .file(broken)
+                        .file(strong)
+                        .param("jobDescription", "We need Java, Spring, Docker, AWS, and React.")
+                        .header("Authorization", "Bearer " + this.jwtToken)
+                        .contentType(MediaType.MULTIPART_FORM_DATA))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(3))
+                .andExpect(jsonPath("$.succeeded").value(2))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.results[0].fileName").value("strong.txt"))
+                .andExpect(jsonPath("$.results[0].rank").value(1))
+                .andExpect(jsonPath("$.results[0].analysis.analysisId").exists())
+                .andExpect(jsonPath("$.results[1].fileName").value("weak.txt"))
+                .andExpect(jsonPath("$.results[2].fileName").value("image.png"))
+                .andExpect(jsonPath("$.results[2].success").value(false))
+                .andExpect(jsonPath("$.results[2].error").exists());
+    }
+
+    @Test
+    @Order(4)
+    void search_returnsStoredResumesBestFirst() throws Exception {
+        mockMvc.perform(post("/api/analyze/search")
+                        .header("Authorization", "Bearer " + this.jwtToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"jobDescription\": \"Java, Spring, Docker, AWS and React\", \"limit\": 2}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].analysisId").exists())
+                .andExpect(jsonPath("$[0].relevance").exists());
+    }
+
+    @Test
+    @Order(5)
+    void stageTimersAreRecordedAndMetricsEndpointNeedsAdmin() throws Exception {
+        assertThat(meterRegistry.get(AnalysisMetrics.TIMER_NAME)
+                .tags("stage", "extract", "contentType", "text").timers())
+                .isNotEmpty();
+        assertThat(meterRegistry.get(AnalysisMetrics.TIMER_NAME).tag("stage", "serialize").timers()).isNotEmpty();
+
+        mockMvc.perform(get("/actuator/metrics")
+                        .header("Authorization", "Bearer " + this.jwtToken))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/health"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @Order(6)
+    void analysisJob_isAcceptedAndLongPolledToItsResult() throws Exception {
+        MockMultipartFile resume = new MockMultipartFile("resume", "async.txt", "text/plain",
+                "Experience: Java, Spring and Docker developer. Projects: built microservices.".getBytes());
+        String submitted = mockMvc.perform(MockMvcRequestBuilders.multipart("/api/analyze/jobs")
+                        .file(resume)
+                        .param("jobDescription", "We need Java, Spring, Docker, AWS.")
+                        .header("Authorization", "Bearer " + this.jwtToken)
+                        .contentType(MediaType.MULTIPART_FORM_DATA))
+                .andExpect(status().isAccepted())
+                .andExpect(header().exists("Location"))
+                .andExpect(jsonPath("$.jobId").exists())
+                .andExpect(jsonPath("$.status").value("QUEUED"))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        String jobId = objectMapper.readTree(submitted).get("jobId").asText();
+
+        MvcResult poll = mockMvc.perform(get("/api/analyze/jobs/" + jobId)
+                        .param("waitMs", "10000")
+                        .header("Authorization", "Bearer " + this.jwtToken))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(poll))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("SUCCEEDED"))
+                .andExpect(jsonPath("$.analysis.analysisId").exists())
+                .andExpect(jsonPath("$.analysis.matchedSkills").isArray());
+
+        mockMvc.perform(get("/api/analyze/jobs/unknown-job")
+                        .header("Authorization", "Bearer " + this.jwtToken))
+                .andExpect(status().isNotFound());
+    }
 }
@@ -3,6 +3,7 @@ package com.resumeanalyzer.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.resumeanalyzer.dto.AuthResponse;
 import com.resumeanalyzer.dto.LoginRequest;
+import com.resumeanalyzer.dto.RefreshTokenRequest;
 import com.resumeanalyzer.dto.RegisterRequest;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -77,4 +78,96 @@ class AuthFlowIntegrationTest {
         mockMvc.perform(get("/api/profile"))
                 .andExpect(status().isUnauthorized());
     }
+
+    @Test
+    void logoutAll_revokesEveryIssuedToken() throws Exception {
+        String registerBody = objectMapper.writeValueAsString(RegisterRequest.builder()
+                .name("Logout User")
+                .email("logout-all@test.com")
+                .password("password123")
+                .build());
+        String registered = mockMvc.perform(post("/api/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(registerBody))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        String token = objectMapper.readValue(registered, AuthResponse.class).getToken();
+
+        mockMvc.perform(get("/api/profile").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/auth/logout-all").header("Authorization", "Bearer " + token))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get("/api/profile").header("Authorization", "Bearer " + token))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.status").value(401));
+
+        String loginBody = objectMapper.writeValueAsString(LoginRequest.builder()
+                .email("logout-all@test.com")
+                .password("password123")
+                .build());
+        String loggedIn = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(loginBody))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        mockMvc.perform(get("/api/profile")
+                        .header("Authorization", "Bearer " + objectMapper.readValue(loggedIn, AuthResponse.class).getToken()))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void refresh_rotatesTokenAndRevokesFamilyOnReuse() throws Exception {
+        String registerBody = objectMapper.writeValueAsString(RegisterRequest.builder()
+                .name("Refresh User")
+                .email("refresh@test.com")
+                .password("password123")
+                .build());
+        String registered = mockMvc.perform(post("/api/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(registerBody))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.refreshToken").exists())
+                .andReturn().getResponse().getContentAsString();
+        String first = objectMapper.readValue(registered, AuthResponse.class).getRefreshToken();
+
+        AuthResponse rotated = objectMapper.readValue(refresh(first)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(), AuthResponse.class);
+        mockMvc.perform(get("/api/profile").header("Authorization", "Bearer " + rotated.getToken()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.email").value("refresh@test.com"));
+
+        // The first token was already exchanged: reusing it burns the whole family, including its successor
+        refresh(first).andExpect(status().isUnauthorized());
+        refresh(rotated.getRefreshToken()).andExpect(status().isUnauthorized());
+        refresh("not-a-token").andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void logout_revokesPresentedRefreshToken() throws Exception {
+        String registerBody = objectMapper.writeValueAsString(RegisterRequest.builder()
+                .name("Logout User")
+                .email("logout@test.com")
+                .password("password123")
+                .build());
+        String registered = mockMvc.perform(post("/api/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(registerBody))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        String refreshToken = objectMapper.readValue(registered, AuthResponse.class).getRefreshToken();
+
+        mockMvc.perform(post("/api/auth/logout")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RefreshTokenRequest(refreshToken))))
+                .andExpect(status().isNoContent());
+
+        refresh(refreshToken).andExpect(status().isUnauthorized());
+    }
+
+    private ResultActions refresh(String refreshToken) throws Exception {
+        return mockMvc.perform(post("/api/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new RefreshTokenRequest(refreshToken))));
+    }
 }
@@ -0,0 +1,88 @@
+package com.resumeanalyzer.security;
+
+import com.resumeanalyzer.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BoundedPasswordEncoderTest {
+
+    private final ThreadPoolExecutor pool = new ThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(1), new ThreadPoolExecutor.AbortPolicy());
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void encodeAndMatches_runOnThePool() {
+        BoundedPasswordEncoder encoder = encoder(new BCryptPasswordEncoder(4));
+
+        String hash = encoder.encode("password123");
+
+        assertThat(encoder.matches("password123", hash)).isTrue();
+        assertThat(encoder.matches("wrong", hash)).isFalse();
+        assertThat(registry.get("auth.hashing").functionTimer().count()).isEqualTo(3);
+    }
+
+    @Test
+    void matches_rejectsWhenPoolIsFull() throws Exception {
+        CountDownLatch hashing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        BoundedPasswordEncoder encoder = encoder(new SlowEncoder(hashing, release));
+        Thread busy = new Thread(() -> encoder.encode("first"));
+        Thread queued = new Thread(() -> encoder.encode("second"));
+        busy.start();
+        assertThat(hashing.await(5, TimeUnit.SECONDS)).isTrue();
+        queued.start();
+        while (pool.getQueue().isEmpty()) Thread.onSpinWait();
+
+        assertThatThrownBy(() -> encoder.matches("third", "hash")).isInstanceOf(TooManyRequestsException.class);
+        assertThat(registry.get("auth.hashing.rejected").functionCounter().count()).isEqualTo(1);
+        assertThat(registry.get("auth.hashing.pool.active").gauge().value()).isEqualTo(1);
+
+        release.countDown();
+        busy.join(5_000);
+        queued.join(5_000);
+    }
+
+    private BoundedPasswordEncoder encoder(PasswordEncoder delegate) {
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(delegate, pool);
+        encoder.bindTo(registry);
+        return encoder;
+    }
+
+    /**
+     * Holds the pool's only thread until released.
+     */
+    private record SlowEncoder(CountDownLatch hashing, CountDownLatch release) implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            hashing.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "hash";
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encode(rawPassword).equals(encodedPassword);
+        }
+    }
+}
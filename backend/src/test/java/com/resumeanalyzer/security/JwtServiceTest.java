@@ -0,0 +1,63 @@
+package com.resumeanalyzer.security;
+
+import com.resumeanalyzer.model.User;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.security.SignatureException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtServiceTest {
+
+    private static final String SECRET = "dGVzdC1zZWNyZXQta2V5LWZvci1qd3QtdGVzdGluZy0xMjM0NTY3ODkw";
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final User user = User.builder().id(7L).name("Jane").email("jane@example.com").password("hash")
+            .role(User.Role.USER).build();
+
+    @Test
+    void verify_servesRepeatTokensFromCache() {
+        JwtService jwtService = jwtService(60_000, 100);
+        String token = jwtService.generateToken(user);
+
+        assertThat(AuthenticatedUser.fromClaims(jwtService.verify(token)))
+                .isEqualTo(new AuthenticatedUser(7L, "jane@example.com", "Jane", User.Role.USER, 0));
+        assertThat(jwtService.extractUsername(token)).isEqualTo("jane@example.com");
+        assertThat(jwtService.verify(token).get("uid", Long.class)).isEqualTo(7L);
+
+        assertThat(registry.get("auth.jwt.verification").functionTimer().count()).isEqualTo(1);
+        assertThat(registry.get("auth.jwt.cache.requests").tag("result", "hit").functionCounter().count()).isEqualTo(2);
+        assertThat(registry.get("auth.jwt.cache.size").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void verify_rejectsTamperedAndExpiredTokens() {
+        JwtService jwtService = jwtService(60_000, 100);
+        String token = jwtService.generateToken(user);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertThatThrownBy(() -> jwtService.verify(tampered)).isInstanceOf(SignatureException.class);
+        JwtService expiring = jwtService(-1_000, 100);
+        assertThatThrownBy(() -> expiring.verify(expiring.generateToken(user))).isInstanceOf(ExpiredJwtException.class);
+        assertThat(registry.get("auth.jwt.cache.size").gauge().value()).isZero();
+    }
+
+    @Test
+    void verify_withCacheDisabled_verifiesEveryTime() {
+        JwtService jwtService = jwtService(60_000, 0);
+        String token = jwtService.generateToken(user);
+
+        jwtService.verify(token);
+        jwtService.verify(token);
+
+        assertThat(registry.get("auth.jwt.verification").functionTimer().count()).isEqualTo(2);
+    }
+
+    private JwtService jwtService(long expirationMs, int maxCachedTokens) {
+        JwtService jwtService = new JwtService(SECRET, expirationMs, maxCachedTokens);
+        jwtService.bindTo(registry);
+        return jwtService;
+    }
+}
@@ -0,0 +1,44 @@
+package com.resumeanalyzer.security;
+
+import com.resumeanalyzer.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TokenVersionCacheTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final TokenVersionCache cache = new TokenVersionCache(userRepository, 60_000, 100);
+
+    @Test
+    void isCurrent_cachesLoadedVersion() {
+        when(userRepository.findTokenVersionById(7L)).thenReturn(Optional.of(0));
+
+        assertThat(cache.isCurrent(7L, 0)).isTrue();
+        assertThat(cache.isCurrent(7L, 0)).isTrue();
+        assertThat(cache.isCurrent(7L, 1)).isFalse();
+
+        verify(userRepository, times(1)).findTokenVersionById(7L);
+    }
+
+    @Test
+    void isCurrent_doesNotCacheVersionLoadedBeforeEviction() {
+        // A logout-all commits and evicts while this load is still returning the old version
+        when(userRepository.findTokenVersionById(7L)).thenAnswer(inv -> {
+            cache.evict(7L);
+            return Optional.of(0);
+        }).thenReturn(Optional.of(1));
+
+        assertThat(cache.isCurrent(7L, 0)).isTrue();
+        assertThat(cache.isCurrent(7L, 0)).isFalse();
+        assertThat(cache.isCurrent(7L, 1)).isTrue();
+
+        verify(userRepository, times(2)).findTokenVersionById(7L);
+    }
+}
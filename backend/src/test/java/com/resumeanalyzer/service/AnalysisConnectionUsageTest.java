@@ -0,0 +1,88 @@
+package com.resumeanalyzer.service;
+
+import com.resumeanalyzer.model.User;
+import com.resumeanalyzer.repository.UserRepository;
+import com.resumeanalyzer.util.TextExtractor;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * More analyses in flight than the pool has connections: none of them may hold a connection while
+ * the document is being parsed, so other requests still get one.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:connection-usage;DB_CLOSE_DELAY=-1",
+        "spring.datasource.hikari.maximum-pool-size=2",
+        "spring.datasource.hikari.minimum-idle=1",
+        "spring.datasource.hikari.connection-timeout=5000"
+})
+@ActiveProfiles("test")
+class AnalysisConnectionUsageTest {
+
+    private static final int ANALYSES = 6;
+
+    @Autowired
+    private ResumeAnalyzerService analyzerService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private DataSource dataSource;
+
+    @MockBean
+    private TextExtractor textExtractor;
+
+    @Test
+    void analyze_holdsNoConnectionWhileExtracting() throws Exception {
+        User user = userRepository.save(User.builder().name("Pool").email("pool@test.com")
+                .password("hash").role(User.Role.USER).build());
+        CountDownLatch extracting = new CountDownLatch(ANALYSES);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(inv -> {
+            extracting.countDown();
+            release.await();
+            inv.<TextExtractor.TextSink>getArgument(2).append(
+                    "Java and Spring developer with AWS experience".toCharArray(), 0, 45);
+            return null;
+        }).when(textExtractor).extractText(any(), any(), any(TextExtractor.TextSink.class));
+
+        ExecutorService clients = Executors.newFixedThreadPool(ANALYSES);
+        try {
+            List<Future<?>> analyses = new ArrayList<>();
+            for (int i = 0; i < ANALYSES; i++) {
+                byte[] pdf = ("%PDF-1.4 resume " + i).getBytes(StandardCharsets.US_ASCII);
+                MockMultipartFile resume = new MockMultipartFile("resume", "r" + i + ".pdf", "application/pdf", pdf);
+                analyses.add(clients.submit(() -> analyzerService.analyze(resume, "We need Java and Spring.", user)));
+            }
+
+            assertThat(extracting.await(10, TimeUnit.SECONDS)).as("all analyses parsing at once").isTrue();
+            assertThat(((HikariDataSource) dataSource).getHikariPoolMXBean().getActiveConnections()).isZero();
+            assertThat(analyzerService.getHistory(user.getId(), 0, 10)).isEmpty();
+
+            release.countDown();
+            for (Future<?> analysis : analyses) analysis.get(10, TimeUnit.SECONDS);
+            assertThat(analyzerService.getHistory(user.getId(), 0, 10)).hasSize(ANALYSES);
+        } finally {
+            release.countDown();
+            clients.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.resumeanalyzer.service;
+
+import com.resumeanalyzer.dto.AnalysisJobResponse;
+import com.resumeanalyzer.dto.AnalysisResponse;
+import com.resumeanalyzer.exception.TooManyRequestsException;
+import com.resumeanalyzer.model.AnalysisJob;
+import com.resumeanalyzer.model.User;
+import com.resumeanalyzer.repository.AnalysisJobRepository;
+import com.resumeanalyzer.repository.AnalysisJobView;
+import com.resumeanalyzer.util.UploadReader;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AnalysisJobServiceTest {
+
+    @Mock
+    private ResumeAnalyzerService analyzerService;
+    @Mock
+    private AnalysisJobRepository jobRepository;
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(1), new ThreadPoolExecutor.AbortPolicy());
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+        scheduler.shutdownNow();
+    }
+
+    private AnalysisJobService service() {
+        return new AnalysisJobService(analyzerService, jobRepository, executor, scheduler,
+                new UploadReader(10 << 20), 60_000, 120_000, 50);
+    }
+
+    private static AnalysisJobView view(AnalysisJob.Status status) {
+        return new JobView("remote", status, "r.pdf", null, null, LocalDateTime.now(), null);
+    }
+
+    private record JobView(String getId, AnalysisJob.Status getStatus, String getFileName, Long getAnalysisId,
+                           String getError, LocalDateTime getCreatedAt, LocalDateTime getCompletedAt)
+            implements AnalysisJobView {
+    }
+
+    @Test
+    void submit_rejectsWith429WhenQueueIsFull() throws Exception {
+        executor.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        when(jobRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+        AnalysisJobService service = service();
+        User user = User.builder().id(1L).name("Test").email("test@test.com").password("hash").build();
+        MockMultipartFile resume = new MockMultipartFile("resume", "r.txt", "text/plain", "Java developer".getBytes());
+
+        service.submit(resume, "Java", user);
+
+        assertThatThrownBy(() -> service.submit(resume, "Java", user))
+                .isInstanceOf(TooManyRequestsException.class);
+        verify(jobRepository, times(1)).save(any(AnalysisJob.class));
+    }
+
+    @Test
+    void awaitJob_watchesJobRunningOnAnotherNodeUntilItFinishes() throws Exception {
+        when(jobRepository.findViewByIdAndUserId("remote", 1L)).thenReturn(
+                Optional.of(view(AnalysisJob.Status.RUNNING)),
+                Optional.of(view(AnalysisJob.Status.RUNNING)),
+                Optional.of(view(AnalysisJob.Status.FAILED)));
+
+        AnalysisJobResponse job = service().awaitJob("remote", 1L, 5_000).get(5, TimeUnit.SECONDS);
+
+        assertThat(job.getStatus()).isEqualTo("FAILED");
+        verify(jobRepository, times(3)).findViewByIdAndUserId("remote", 1L);
+    }
+
+    @Test
+    void awaitJob_returnsCurrentStateOnceWaitRunsOut() throws Exception {
+        when(jobRepository.findViewByIdAndUserId("remote", 1L)).thenReturn(Optional.of(view(AnalysisJob.Status.QUEUED)));
+
+        AnalysisJobResponse job = service().awaitJob("remote", 1L, 120).get(5, TimeUnit.SECONDS);
+
+        assertThat(job.getStatus()).isEqualTo("QUEUED");
+    }
+
+    @Test
+    void resumePendingJobs_requeuesAbandonedJobsAndRunsOnlyThoseItClaims() throws Exception {
+        User user = User.builder().id(1L).name("Test").email("test@test.com").password("hash").build();
+        when(jobRepository.findAbandonedIds(any())).thenReturn(List.of("abandoned"));
+        when(jobRepository.requeue(eq("abandoned"), any())).thenReturn(1);
+        when(jobRepository.findIdsByStatusIn(any())).thenReturn(List.of("abandoned", "taken"));
+        for (String id : List.of("abandoned", "taken")) {
+            when(jobRepository.findById(id)).thenReturn(Optional.of(AnalysisJob.builder().id(id).user(user)
+                    .status(AnalysisJob.Status.QUEUED).priority(0).jobDescription("Java").resumeData(new byte[1]).build()));
+        }
+        when(jobRepository.claim(eq("abandoned"), any(), any())).thenReturn(1);
+        // Queued on this node too, but another node claimed it first
+        when(jobRepository.claim(eq("taken"), any(), any())).thenReturn(0);
+        when(analyzerService.analyze(any(byte[].class), any(), any()))
+                .thenReturn(AnalysisResponse.builder().analysisId(5L).build());
+        when(jobRepository.finish(eq("abandoned"), any(), eq(AnalysisJob.Status.SUCCEEDED), eq(5L), any(), any()))
+                .thenReturn(1);
+        AnalysisJobService service = service();
+
+        service.resumePendingJobs();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+
+        verify(analyzerService, times(1)).analyze(any(byte[].class), any(), any());
+        verify(jobRepository, never()).save(any(AnalysisJob.class));
+        verify(analyzerService, never()).deleteAnalysis(any(), any());
+    }
+
+    @Test
+    void run_discardsResultWhenLeaseWasLostToAnotherNode() throws Exception {
+        User user = User.builder().id(1L).name("Test").email("test@test.com").password("hash").build();
+        when(jobRepository.findAbandonedIds(any())).thenReturn(List.of());
+        when(jobRepository.findIdsByStatusIn(any())).thenReturn(List.of("slow"));
+        when(jobRepository.findById("slow")).thenReturn(Optional.of(AnalysisJob.builder().id("slow").user(user)
+                .status(AnalysisJob.Status.QUEUED).priority(0).jobDescription("Java").resumeData(new byte[1]).build()));
+        when(jobRepository.claim(eq("slow"), any(), any())).thenReturn(1);
+        when(analyzerService.analyze(any(byte[].class), any(), any()))
+                .thenReturn(AnalysisResponse.builder().analysisId(6L).build());
+        // Re-queued and taken by another node while this one was analyzing
+        when(jobRepository.finish(any(), any(), any(), any(), any(), any())).thenReturn(0);
+
+        service().resumePendingJobs();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+
+        verify(analyzerService).deleteAnalysis(6L, 1L);
+        verify(jobRepository, never()).save(any(AnalysisJob.class));
+    }
+}
@@ -0,0 +1,77 @@
+package com.resumeanalyzer.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExtractionCacheTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void diskTierSurvivesRestartAndIsSharedBetweenInstances() {
+        String key = key("resume bytes");
+        ExtractionCache first = new ExtractionCache(1 << 20, directory.toString(), 1 << 20);
+        first.put(key, new ExtractionCache.Extraction("application/pdf", "Java developer\nSpring"));
+
+        ExtractionCache second = new ExtractionCache(1 << 20, directory.toString(), 1 << 20);
+
+        assertThat(second.get(key)).contains(new ExtractionCache.Extraction("application/pdf", "Java developer\nSpring"));
+        assertThat(second.get(key("other bytes"))).isEmpty();
+    }
+
+    @Test
+    void memoryTierEvictsLeastRecentlyUsedWithinBudget() {
+        ExtractionCache cache = new ExtractionCache(1500, "", 0);
+        cache.put("a", new ExtractionCache.Extraction("text/plain", "x".repeat(200)));
+        cache.put("b", new ExtractionCache.Extraction("text/plain", "y".repeat(200)));
+        cache.get("a");
+        cache.put("c", new ExtractionCache.Extraction("text/plain", "z".repeat(200)));
+
+        assertThat(cache.get("a")).isPresent();
+        assertThat(cache.get("b")).isEmpty();
+        assertThat(cache.get("c")).isPresent();
+    }
+
+    @Test
+    void evictRemovesEntryFromBothTiers() {
+        String key = key("deleted resume");
+        ExtractionCache cache = new ExtractionCache(1 << 20, directory.toString(), 1 << 20);
+        cache.put(key, new ExtractionCache.Extraction("application/pdf", "Java developer"));
+
+        cache.evict(key);
+
+        assertThat(cache.get(key)).isEmpty();
+        assertThat(new ExtractionCache(1 << 20, directory.toString(), 1 << 20).get(key)).isEmpty();
+    }
+
+    @Test
+    void pruneKeepsDiskWithinBudget() throws Exception {
+        ExtractionCache cache = new ExtractionCache(1 << 20, directory.toString(), 600);
+        for (int i = 0; i < 20; i++) {
+            cache.put(key("file " + i), new ExtractionCache.Extraction("text/plain", "resume text number " + i));
+        }
+
+        cache.prune();
+
+        long total;
+        try (Stream<Path> files = Files.walk(directory)) {
+            total = files.filter(Files::isRegularFile).mapToLong(path -> path.toFile().length()).sum();
+        }
+        assertThat(total).isPositive().isLessThanOrEqualTo(600);
+    }
+
+    private static String key(String content) {
+        MessageDigest digest = ExtractionCache.newDigest();
+        digest.update(content.getBytes(StandardCharsets.UTF_8));
+        return ExtractionCache.key(digest);
+    }
+}
@@ -0,0 +1,85 @@
+package com.resumeanalyzer.service;
+
+import com.resumeanalyzer.dto.AuthResponse;
+import com.resumeanalyzer.dto.RegisterRequest;
+import com.resumeanalyzer.repository.UserRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * More sign-ups waiting for the password hashing pool than the connection pool has connections: none
+ * of them may hold a connection while queued, so other requests still get one.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:registration-usage;DB_CLOSE_DELAY=-1",
+        "spring.datasource.hikari.maximum-pool-size=2",
+        "spring.datasource.hikari.minimum-idle=1",
+        "spring.datasource.hikari.connection-timeout=5000",
+        "app.auth.hashing.threads=1"
+})
+@ActiveProfiles("test")
+class RegistrationConnectionUsageTest {
+
+    private static final int SIGN_UPS = 5;
+
+    @Autowired
+    private AuthService authService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private ThreadPoolExecutor passwordHashingExecutor;
+
+    @Test
+    void register_holdsNoConnectionWhileWaitingForHashing() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        // Occupy the only hashing thread so every sign-up queues behind it
+        passwordHashingExecutor.submit(() -> {
+            release.await();
+            return null;
+        });
+
+        ExecutorService clients = Executors.newFixedThreadPool(SIGN_UPS);
+        try {
+            List<Future<AuthResponse>> signUps = new ArrayList<>();
+            for (int i = 0; i < SIGN_UPS; i++) {
+                RegisterRequest request = RegisterRequest.builder()
+                        .name("Queued " + i).email("queued" + i + "@test.com").password("password123").build();
+                signUps.add(clients.submit(() -> authService.register(request)));
+            }
+
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (passwordHashingExecutor.getQueue().size() < SIGN_UPS && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertThat(passwordHashingExecutor.getQueue()).as("all sign-ups queued for hashing").hasSize(SIGN_UPS);
+            assertThat(((HikariDataSource) dataSource).getHikariPoolMXBean().getActiveConnections()).isZero();
+            assertThat(userRepository.existsByEmail("queued0@test.com")).isFalse();
+
+            release.countDown();
+            for (Future<AuthResponse> signUp : signUps) {
+                assertThat(signUp.get(10, TimeUnit.SECONDS).getRefreshToken()).isNotBlank();
+            }
+            assertThat(userRepository.existsByEmail("queued0@test.com")).isTrue();
+        } finally {
+            release.countDown();
+            clients.shutdownNow();
+        }
+    }
+}
@@ -1,19 +1,27 @@
 package com.resumeanalyzer.service;
 
+import com.resumeanalyzer.metrics.AnalysisMetrics;
 import com.resumeanalyzer.model.User;
 import com.resumeanalyzer.repository.AnalysisRepository;
 import com.resumeanalyzer.util.*;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -31,6 +39,7 @@ class ResumeAnalyzerServiceTest {
     @Mock
     private CosineSimilarity cosineSimilarity;
 
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
     private ResumeAnalyzerService service;
     private User user;
     private com.resumeanalyzer.model.Analysis savedAnalysis;
@@ -45,7 +54,13 @@ class ResumeAnalyzerServiceTest {
                 realCleaner,
                 realSkills,
                 realCosine,
-                analysisRepository
+                analysisRepository,
+                new JobProfileCache(1 << 20),
+                new ResumeSearchIndex(realCosine, realSkills, realCleaner, analysisRepository, Runnable::run),
+                new NearDuplicateIndex(analysisRepository, 0.8, 0.95),
+                new AnalysisMetrics(meterRegistry),
+                new ExtractionCache(1 << 20, "", 0),
+                new UploadReader(10 << 20)
         );
         user = User.builder().id(1L).name("Test").email("test@test.com").password("hash").role(User.Role.USER).build();
         savedAnalysis = com.resumeanalyzer.model.Analysis.builder()
@@ -79,6 +94,156 @@ class ResumeAnalyzerServiceTest {
         assertThat(response.getMissingSkills()).isNotNull();
         assertThat(response.getSuggestions()).isNotNull().isNotEmpty();
         verify(analysisRepository).save(any());
+        for (String stage : List.of("tokenize", "signature", "skills", "cosine", "features", "save", "index")) {
+            assertThat(meterRegistry.get(AnalysisMetrics.TIMER_NAME)
+                    .tags("stage", stage, "contentType", "text", "size", "lt8k").timer().count())
+                    .as(stage).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void analyzeText_reusesCachedJobProfileForSamePosting() {
+        when(analysisRepository.save(any())).thenAnswer(inv -> {
+            com.resumeanalyzer.model.Analysis a = inv.getArgument(0);
+            a.setId(2L);
+            return a;
+        });
+        JobProfileCache cache = new JobProfileCache(1 << 20);
+        TextCleaner realCleaner = new TextCleaner();
+        SkillDataset realSkills = new SkillDataset();
+        CosineSimilarity realCosine = new CosineSimilarity(realCleaner);
+        ResumeAnalyzerService cachedService = new ResumeAnalyzerService(textExtractor, realCleaner, realSkills,
+                realCosine, analysisRepository, cache,
+                new ResumeSearchIndex(realCosine, realSkills, realCleaner, analysisRepository, Runnable::run),
+                new NearDuplicateIndex(analysisRepository, 0.8, 0.95),
+                new AnalysisMetrics(meterRegistry),
+                new ExtractionCache(1 << 20, "", 0), new UploadReader(10 << 20));
+
+        com.resumeanalyzer.dto.AnalysisResponse first = cachedService.analyzeText(
+                "Java and Spring developer", "We need Java, Spring, Docker.", user);
+        com.resumeanalyzer.dto.AnalysisResponse second = cachedService.analyzeText(
+                "Java and Spring developer", "  we NEED java spring docker ", user);
+
+        assertThat(cache.stats().misses()).isEqualTo(1);
+        assertThat(cache.stats().hits()).isEqualTo(1);
+        assertThat(second.getMatchPercentage()).isEqualTo(first.getMatchPercentage());
+        assertThat(second.getMissingSkills()).containsExactlyInAnyOrderElementsOf(first.getMissingSkills());
+    }
+
+    @Test
+    void analyzeText_reusesArtifactsOfNearDuplicateResume() {
+        AtomicLong ids = new AtomicLong(2);
+        List<com.resumeanalyzer.model.Analysis> saved = new ArrayList<>();
+        when(analysisRepository.save(any())).thenAnswer(inv -> {
+            com.resumeanalyzer.model.Analysis a = inv.getArgument(0);
+            a.setId(ids.incrementAndGet());
+            saved.add(a);
+            return a;
+        });
+        when(analysisRepository.findByIdAndUserId(3L, 1L)).thenAnswer(inv -> Optional.of(saved.get(0)));
+        String resume = "Senior Java developer with eight years of experience building Spring Boot services, "
+                + "REST APIs and PostgreSQL schemas. Led a team of five engineers and built CI pipelines on AWS.";
+
+        com.resumeanalyzer.dto.AnalysisResponse first = service.analyzeText(resume, "We need Java, Spring, AWS.", user);
+        com.resumeanalyzer.dto.AnalysisResponse second = service.analyzeText(resume, "  we need java spring aws\n", user);
+        com.resumeanalyzer.dto.AnalysisResponse otherJob = service.analyzeText(resume, "We need Go and Kubernetes.", user);
+
+        assertThat(first.getDuplicateOfAnalysisId()).isNull();
+        // Saved as a new analysis of the new upload, with the artifacts of the first
+        assertThat(second.getAnalysisId()).isEqualTo(4L);
+        assertThat(second.getDuplicateOfAnalysisId()).isEqualTo(3L);
+        assertThat(second.getDuplicateSimilarity()).isEqualTo(1.0);
+        assertThat(second.getMatchPercentage()).isEqualTo(first.getMatchPercentage());
+        assertThat(second.getSuggestions()).isEqualTo(first.getSuggestions());
+        assertThat(otherJob.getDuplicateOfAnalysisId()).isEqualTo(3L);
+        verify(analysisRepository, times(3)).save(any());
+        // Only the first and the other job were scored from scratch
+        assertThat(meterRegistry.get(AnalysisMetrics.TIMER_NAME)
+                .tags("stage", "features", "contentType", "text", "size", "lt8k").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    void analyzeText_reusesArtifactsButRecomputesMatchForEditedResume() {
+        AtomicLong ids = new AtomicLong(30);
+        List<com.resumeanalyzer.model.Analysis> saved = new ArrayList<>();
+        when(analysisRepository.save(any())).thenAnswer(inv -> {
+            com.resumeanalyzer.model.Analysis a = inv.getArgument(0);
+            a.setId(ids.incrementAndGet());
+            saved.add(a);
+            return a;
+        });
+        when(analysisRepository.findByIdAndUserId(31L, 1L)).thenAnswer(inv -> Optional.of(saved.get(0)));
+        StringBuilder resume = new StringBuilder("Java and Spring developer.");
+        for (char a = 'a'; a <= 'z'; a++) {
+            for (char b = 'a'; b <= 'p'; b++) resume.append(" work").append(a).append(b);
+        }
+
+        com.resumeanalyzer.dto.AnalysisResponse first =
+                service.analyzeText(resume.toString(), "We need Java, Spring and Docker.", user);
+        com.resumeanalyzer.dto.AnalysisResponse second =
+                service.analyzeText(resume + " Java Spring", "We need Java, Spring and Docker.", user);
+
+        assertThat(second.getDuplicateOfAnalysisId()).isEqualTo(31L);
+        assertThat(second.getAnalysisId()).isEqualTo(32L);
+        assertThat(second.getMatchedSkills()).containsExactlyInAnyOrderElementsOf(first.getMatchedSkills());
+        assertThat(second.getSuggestions()).isEqualTo(first.getSuggestions());
+        // The cosine part follows the new text, which repeats the job's terms
+        assertThat(second.getMatchPercentage()).isGreaterThan(first.getMatchPercentage());
+        assertThat(saved.get(1).getResumeText()).endsWith("Java Spring");
+        assertThat(meterRegistry.get(AnalysisMetrics.TIMER_NAME)
+                .tags("stage", "features", "contentType", "text", "size", "lt8k").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void analyzeText_rescoresNearDuplicateResumeWithAddedSkill() {
+        AtomicLong ids = new AtomicLong(20);
+        List<com.resumeanalyzer.model.Analysis> saved = new ArrayList<>();
+        when(analysisRepository.save(any())).thenAnswer(inv -> {
+            com.resumeanalyzer.model.Analysis a = inv.getArgument(0);
+            a.setId(ids.incrementAndGet());
+            saved.add(a);
+            return a;
+        });
+        when(analysisRepository.findByIdAndUserId(21L, 1L)).thenAnswer(inv -> Optional.of(saved.get(0)));
+        StringBuilder resume = new StringBuilder("Java and Spring developer.");
+        for (char a = 'a'; a <= 'z'; a++) {
+            for (char b = 'a'; b <= 'p'; b++) resume.append(" work").append(a).append(b);
+        }
+
+        com.resumeanalyzer.dto.AnalysisResponse first =
+                service.analyzeText(resume.toString(), "We need Java, Spring and Docker.", user);
+        com.resumeanalyzer.dto.AnalysisResponse second =
+                service.analyzeText(resume + " Docker", "We need Java, Spring and Docker.", user);
+
+        assertThat(first.getMissingSkills()).contains("docker");
+        assertThat(second.getDuplicateOfAnalysisId()).isEqualTo(21L);
+        assertThat(second.getDuplicateSimilarity()).isGreaterThanOrEqualTo(0.95);
+        assertThat(second.getAnalysisId()).isEqualTo(22L);
+        assertThat(second.getMissingSkills()).doesNotContain("docker");
+        verify(analysisRepository, times(2)).save(any());
+    }
+
+    @Test
+    void analyze_parsesEachDistinctUploadOnce() throws Exception {
+        AtomicLong ids = new AtomicLong(10);
+        when(analysisRepository.save(any())).thenAnswer(inv -> {
+            com.resumeanalyzer.model.Analysis a = inv.getArgument(0);
+            a.setId(ids.incrementAndGet());
+            return a;
+        });
+        doAnswer(inv -> {
+            inv.<ResumeTextAccumulator>getArgument(2).append("Java and Spring developer with AWS experience");
+            return null;
+        }).when(textExtractor).extractText(any(), eq("application/pdf"), any());
+        byte[] upload = "%PDF-1.4 resume".getBytes();
+
+        service.analyze(upload, "We need Java and Spring.", user);
+        service.analyze(upload.clone(), "We need Go and Kubernetes.", user);
+        service.analyze("%PDF-1.4 other resume".getBytes(), "We need Java and Spring.", user);
+
+        verify(textExtractor, times(2)).extractText(any(), any(), any());
+        assertThat(meterRegistry.get(AnalysisMetrics.TIMER_NAME)
+                .tags("stage", "read", "contentType", "pdf").timer().count()).isEqualTo(3);
     }
 
     @Test
@@ -96,4 +261,35 @@ class ResumeAnalyzerServiceTest {
         assertThat(result.get().getAnalysisId()).isEqualTo(1L);
         assertThat(result.get().getMatchPercentage()).isEqualTo(80.0);
     }
+
+    @Test
+    void getAnalysisById_readsStoredArtifactsWithoutRescoring() {
+        savedAnalysis.setMatchedSkills(List.of("java"));
+        savedAnalysis.setMissingSkills(List.of("kafka"));
+        savedAnalysis.setSuggestions(List.of("Stored suggestion"));
+        savedAnalysis.setReadabilityScore(42.0);
+        savedAnalysis.setAtsCompatible(true);
+        savedAnalysis.setArtifactVersion(ResumeAnalyzerService.ARTIFACT_VERSION);
+        when(analysisRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.of(savedAnalysis));
+
+        com.resumeanalyzer.dto.AnalysisResponse result = service.getAnalysisById(1L, 1L).orElseThrow();
+
+        assertThat(result.getMatchedSkills()).containsExactly("java");
+        assertThat(result.getMissingSkills()).containsExactly("kafka");
+        assertThat(result.getSuggestions()).containsExactly("Stored suggestion");
+        assertThat(result.getReadabilityScore()).isEqualTo(42.0);
+        verify(analysisRepository, never()).save(any());
+    }
+
+    @Test
+    void getAnalysisById_upgradesArtifactsOfOlderAnalyses() {
+        when(analysisRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.of(savedAnalysis));
+
+        com.resumeanalyzer.dto.AnalysisResponse result = service.getAnalysisById(1L, 1L).orElseThrow();
+
+        assertThat(result.getMatchedSkills()).containsExactlyInAnyOrder("java", "spring");
+        assertThat(savedAnalysis.getArtifactVersion()).isEqualTo(ResumeAnalyzerService.ARTIFACT_VERSION);
+        assertThat(savedAnalysis.getSuggestions()).isEqualTo(result.getSuggestions());
+        verify(analysisRepository).save(savedAnalysis);
+    }
 }
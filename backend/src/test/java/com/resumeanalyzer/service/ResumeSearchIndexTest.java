@@ -0,0 +1,139 @@
+package com.resumeanalyzer.service;
+
+import com.resumeanalyzer.repository.AnalysisRepository;
+import com.resumeanalyzer.repository.AnalysisText;
+import com.resumeanalyzer.util.CosineSimilarity;
+import com.resumeanalyzer.util.SkillDataset;
+import com.resumeanalyzer.util.SkillTaxonomy;
+import com.resumeanalyzer.util.TextCleaner;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ResumeSearchIndexTest {
+
+    private static final String[] WORDS = {
+            "java", "spring", "docker", "kubernetes", "aws", "react", "python", "sql", "kafka", "redis",
+            "team", "work", "built", "led", "services", "platform", "data", "api", "design", "testing"
+    };
+
+    private TextCleaner textCleaner;
+    private SkillDataset skillDataset;
+    private CosineSimilarity cosineSimilarity;
+    private AnalysisRepository analysisRepository;
+    private ResumeSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        textCleaner = new TextCleaner();
+        skillDataset = new SkillDataset();
+        cosineSimilarity = new CosineSimilarity(textCleaner);
+        analysisRepository = mock(AnalysisRepository.class);
+        index = new ResumeSearchIndex(cosineSimilarity, skillDataset, textCleaner, analysisRepository, Runnable::run);
+    }
+
+    @Test
+    void search_returnsOnlyTheUsersBestMatches() {
+        add(1, 7, "Java Spring Docker developer");
+        add(2, 7, "Python data engineer");
+        add(3, 8, "Java Spring Docker Kubernetes expert");
+        add(4, 7, "Java developer");
+
+        List<ResumeSearchIndex.Hit> hits = index.search("Need Java, Spring and Docker", 7, 2);
+
+        assertThat(hits).extracting(ResumeSearchIndex.Hit::analysisId).containsExactly(1L, 4L);
+    }
+
+    @Test
+    void search_skipsRemovedResumes() {
+        add(1, 7, "Java Spring Docker developer");
+        add(2, 7, "Java developer");
+        index.remove(1);
+
+        assertThat(index.search("Java Spring Docker", 7, 5))
+                .extracting(ResumeSearchIndex.Hit::analysisId).containsExactly(2L);
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void search_scoresOnlyAgainstTheUsersLiveResumes() {
+        add(1, 7, "Java Spring Docker developer");
+        add(2, 7, "Java developer");
+        add(3, 7, "Java Kafka engineer");
+        add(4, 8, "Java Java Java Spring");
+        add(5, 8, "Docker Kubernetes");
+        index.remove(3);
+        ResumeSearchIndex fresh = new ResumeSearchIndex(cosineSimilarity, skillDataset, textCleaner,
+                analysisRepository, Runnable::run);
+        for (long id : new long[]{1, 2}) {
+            String text = id == 1 ? "Java Spring Docker developer" : "Java developer";
+            String cleaned = textCleaner.clean(text);
+            fresh.add(id, 7, cosineSimilarity.vectorize(cleaned), skillDataset.extractSkills(cleaned));
+        }
+
+        List<ResumeSearchIndex.Hit> hits = index.search("Need Java, Spring and Docker", 7, 5);
+
+        assertThat(hits).isEqualTo(fresh.search("Need Java, Spring and Docker", 7, 5));
+        assertThat(index.size()).isEqualTo(4);
+    }
+
+    @Test
+    void rebuildSkills_reExtractsSkillsAfterTaxonomyReload() {
+        add(1, 7, "Rustlang and Java developer");
+        when(analysisRepository.findResumeTexts(any())).thenReturn(new SliceImpl<>(List.of(
+                new ResumeText(1L, 7L, "Rustlang and Java developer"))));
+        assertThat(index.search(cosineSimilarity.vectorize("rust"), Set.of("rust"), 7, 5)).isEmpty();
+
+        skillDataset.install(SkillTaxonomy.compile(2, List.of(
+                new SkillTaxonomy.Skill("rust", "language", List.of("rustlang")))));
+        index.onTaxonomyReloaded();
+
+        assertThat(index.search(cosineSimilarity.vectorize("rust"), Set.of("rust"), 7, 5))
+                .extracting(ResumeSearchIndex.Hit::analysisId).containsExactly(1L);
+    }
+
+    @Test
+    void search_topKMatchesExhaustiveRanking() {
+        Random random = new Random(42);
+        int documents = 300;
+        for (int id = 1; id <= documents; id++) {
+            add(id, 1, randomText(random, 5 + random.nextInt(30)));
+        }
+        for (int q = 0; q < 20; q++) {
+            String query = randomText(random, 3 + random.nextInt(8));
+            List<ResumeSearchIndex.Hit> all = index.search(query, 1, documents);
+            List<ResumeSearchIndex.Hit> top = index.search(query, 1, 5);
+
+            assertThat(top).hasSize(Math.min(5, all.size()));
+            for (int i = 0; i < top.size(); i++) {
+                assertThat(top.get(i).score()).isCloseTo(all.get(i).score(), within(1e-9));
+            }
+        }
+    }
+
+    private void add(long analysisId, long userId, String resumeText) {
+        String cleaned = textCleaner.clean(resumeText);
+        index.add(analysisId, userId, cosineSimilarity.vectorize(cleaned), skillDataset.extractSkills(cleaned));
+    }
+
+    private record ResumeText(Long getId, Long getUserId, String getResumeText) implements AnalysisText {
+    }
+
+    private static String randomText(Random random, int words) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            sb.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+        }
+        return sb.toString();
+    }
+}
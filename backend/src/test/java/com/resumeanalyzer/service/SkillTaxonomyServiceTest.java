@@ -0,0 +1,45 @@
+package com.resumeanalyzer.service;
+
+import com.resumeanalyzer.util.SkillDataset;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class SkillTaxonomyServiceTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void installsNewVersionsAndKeepsCurrentTaxonomyOnBrokenFile() throws Exception {
+        Path file = dir.resolve("taxonomy.json");
+        SkillDataset dataset = new SkillDataset();
+        ApplicationEventPublisher publisher = mock(ApplicationEventPublisher.class);
+        SkillTaxonomyService service = new SkillTaxonomyService(dataset, publisher, file.toString());
+
+        write(file, "{\"version\": 2, \"skills\": [{\"name\": \"elixir\", \"aliases\": [\"ex\"]}]}", 1);
+        assertThat(service.reload()).isTrue();
+        assertThat(dataset.extractSkills("Elixir and Java")).containsExactly("elixir");
+        verify(publisher).publishEvent(new SkillTaxonomyReloadedEvent(1, 2));
+
+        assertThat(service.reload()).isFalse();
+
+        write(file, "{\"version\": 3, \"skills\": [", 2);
+        assertThat(service.reload()).isFalse();
+        assertThat(dataset.getTaxonomy().version()).isEqualTo(2);
+    }
+
+    private static void write(Path file, String content, int second) throws Exception {
+        Files.writeString(file, content);
+        Files.setLastModifiedTime(file, FileTime.from(Instant.ofEpochSecond(1_700_000_000L + second)));
+    }
+}
@@ -4,6 +4,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
 
 class CosineSimilarityTest {
 
@@ -33,4 +34,40 @@ class CosineSimilarityTest {
         double sim = cosineSimilarity.similarity("", "java spring");
         assertThat(sim).isEqualTo(0.0);
     }
+
+    @Test
+    void similarity_weightsRepeatedTerms() {
+        // tf vectors {java:2, spring:1} and {java:1, docker:1}: cos = 2 / (sqrt(5) * sqrt(2))
+        double sim = cosineSimilarity.similarity("Java, java and Spring", "java docker");
+        assertThat(sim).isCloseTo(2 / (Math.sqrt(5) * Math.sqrt(2)), within(1e-9));
+    }
+
+    @Test
+    void vectorize_sortsIdsAndCountsTerms() {
+        SparseVector v = cosineSimilarity.vectorize("docker java docker spring docker");
+        assertThat(v.size()).isEqualTo(3);
+        for (int i = 1; i < v.size(); i++) {
+            assertThat(v.id(i)).isGreaterThan(v.id(i - 1));
+        }
+        assertThat(v.totalWeight()).isEqualTo(5.0);
+    }
+
+    @Test
+    void similarity_tfIdfDownweightsTermsCommonToTheCorpus() {
+        TextCleaner textCleaner = new TextCleaner();
+        TermDictionary dictionary = new TermDictionary(TermDictionary.DEFAULT_MAX_TERMS);
+        DocumentFrequencyTable frequencies = new DocumentFrequencyTable(dictionary);
+        CosineSimilarity tfIdf = new CosineSimilarity(textCleaner, dictionary, frequencies, "tfidf");
+        for (String resume : new String[]{"team work java", "team work python", "team work react"}) {
+            tfIdf.addToCorpus(tfIdf.vectorize(resume));
+        }
+
+        double boilerplateOnly = tfIdf.similarity("team work kafka", "team work golang");
+        double sharedSkill = tfIdf.similarity("team java kafka", "work java golang");
+
+        assertThat(frequencies.documentCount()).isEqualTo(3);
+        assertThat(boilerplateOnly).isLessThan(cosineSimilarity.similarity("team work kafka", "team work golang"));
+        assertThat(sharedSkill).isGreaterThan(0);
+        assertThat(tfIdf.similarity("java spring", "java spring")).isCloseTo(1.0, within(1e-9));
+    }
 }
@@ -0,0 +1,58 @@
+package com.resumeanalyzer.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DocumentFrequencyTableTest {
+
+    private final TermDictionary terms = new TermDictionary(1000);
+
+    private SparseVector document(String... words) {
+        int[] ids = new int[words.length];
+        for (int i = 0; i < words.length; i++) {
+            ids[i] = terms.id(words[i]);
+        }
+        return SparseVector.fromTermIds(ids, ids.length);
+    }
+
+    @Test
+    void replace_keepsDocumentsAddedWhileRebuilding() {
+        DocumentFrequencyTable live = new DocumentFrequencyTable(terms);
+        live.addDocument(document("java", "spring"));
+        DocumentFrequencyTable baseline = live.copy();
+
+        // Rebuilt from storage: the document above plus two that were not in the live table
+        DocumentFrequencyTable rebuilt = new DocumentFrequencyTable(terms);
+        rebuilt.addDocument(document("java", "spring"));
+        rebuilt.addDocument(document("java", "docker"));
+        rebuilt.addDocument(document("python"));
+
+        // Served while the rebuild ran
+        live.addDocument(document("java", "kotlin"));
+
+        live.replace(rebuilt, baseline);
+
+        assertThat(live.documentCount()).isEqualTo(4);
+        assertThat(live.snapshot()).isEqualTo(Map.of(
+                "java", 3, "spring", 1, "docker", 1, "python", 1, "kotlin", 1));
+    }
+
+    @Test
+    void replace_dropsCountsOfDocumentsMissingFromStorage() {
+        DocumentFrequencyTable live = new DocumentFrequencyTable(terms);
+        live.restore(2, Map.of("java", 2, "spring", 1));
+        DocumentFrequencyTable baseline = live.copy();
+
+        DocumentFrequencyTable rebuilt = new DocumentFrequencyTable(terms);
+        rebuilt.addDocument(document("java"));
+
+        live.replace(rebuilt, baseline);
+
+        assertThat(live.documentCount()).isEqualTo(1);
+        assertThat(live.documentFrequency(terms.id("java"))).isEqualTo(1);
+        assertThat(live.documentFrequency(terms.id("spring"))).isZero();
+    }
+}
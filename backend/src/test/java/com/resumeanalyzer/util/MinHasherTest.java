@@ -0,0 +1,46 @@
+package com.resumeanalyzer.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MinHasherTest {
+
+    private final MinHasher minHasher = new MinHasher(new TextCleaner());
+
+    private static final String RESUME = "Backend engineer with six years of experience in Java, Spring Boot and "
+            + "PostgreSQL. Designed event driven services on Kafka, mentored junior developers, cut API latency "
+            + "by forty percent and owned the deployment pipeline on Kubernetes across three regions.";
+
+    @Test
+    void identicalTextAfterNormalizationHasIdenticalSignature() {
+        int[] a = minHasher.signature(RESUME);
+        int[] b = minHasher.signature("  " + RESUME.toUpperCase().replace(",", " ; "));
+        assertThat(MinHasher.similarity(a, b)).isEqualTo(1.0);
+    }
+
+    @Test
+    void smallEditStaysSimilarAndUnrelatedTextDoesNot() {
+        int[] original = minHasher.signature(RESUME);
+        int[] edited = minHasher.signature(RESUME.replace("six years", "seven years"));
+        int[] unrelated = minHasher.signature("Graphic designer focused on branding, typography and print "
+                + "layouts for magazines, with a portfolio of packaging work for food startups.");
+
+        assertThat(MinHasher.similarity(original, edited)).isGreaterThan(0.7);
+        assertThat(MinHasher.similarity(original, unrelated)).isLessThan(0.2);
+    }
+
+    @Test
+    void encodeDecodeRoundTrips() {
+        int[] signature = minHasher.signature(RESUME);
+        byte[] bytes = MinHasher.encode(signature);
+        assertThat(bytes).hasSize(MinHasher.SIGNATURE_BYTES);
+        assertThat(MinHasher.decode(bytes)).containsExactly(signature);
+    }
+
+    @Test
+    void textWithoutTokensHasNoSignature() {
+        assertThat(minHasher.signature(" ... ")).isNull();
+        assertThat(minHasher.signature("java")).isNotNull();
+    }
+}
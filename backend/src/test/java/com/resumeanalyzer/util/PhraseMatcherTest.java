@@ -0,0 +1,39 @@
+package com.resumeanalyzer.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PhraseMatcherTest {
+
+    @Test
+    void findAll_matchesOnWordBoundariesOnly() {
+        PhraseMatcher matcher = PhraseMatcher.compile(List.of("ai", "ci", "rest", "java"));
+        assertThat(matcher.findAll("Maintain specific interest in JavaScript")).isEmpty();
+        assertThat(matcher.findAll("AI, CI/CD and REST with Java.")).containsExactlyInAnyOrder("ai", "ci", "rest", "java");
+    }
+
+    @Test
+    void findAll_matchesMultiWordAndOverlappingPhrases() {
+        PhraseMatcher matcher = PhraseMatcher.compile(List.of("spring", "spring boot", "boot", "machine learning"));
+        assertThat(matcher.findAll("Built services on Spring   Boot; applied machine-learning."))
+                .containsExactlyInAnyOrder("spring", "spring boot", "boot", "machine learning");
+    }
+
+    @Test
+    void findAll_handlesSuffixSharingPhrases() {
+        PhraseMatcher matcher = PhraseMatcher.compile(List.of("node", "nodejs", "js", "data structures", "structures"));
+        assertThat(matcher.findAll("nodejs and data structures"))
+                .containsExactlyInAnyOrder("nodejs", "data structures", "structures");
+        assertThat(matcher.findAll("node.js")).containsExactlyInAnyOrder("node", "js");
+    }
+
+    @Test
+    void findAll_emptyText_returnsEmpty() {
+        PhraseMatcher matcher = PhraseMatcher.compile(List.of("java"));
+        assertThat(matcher.findAll("")).isEmpty();
+        assertThat(matcher.findAll(null)).isEmpty();
+    }
+}
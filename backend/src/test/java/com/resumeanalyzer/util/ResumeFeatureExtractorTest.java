@@ -0,0 +1,71 @@
+package com.resumeanalyzer.util;
+
+import com.resumeanalyzer.util.ResumeFeatures.KeywordGroup;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResumeFeatureExtractorTest {
+
+    private static final List<String> SAMPLES = List.of(
+            "",
+            "   \n\t ",
+            "...Skilled DEVELOPER. Led a team!! Built 3 apps?",
+            "Experience\n• Managed AWS migration, cut costs by 40%\n• Shipped 2x faster releases\n\nEducation: BSc",
+            "Portfolio - designed landing pages. Budget $5000 . 10+ clients",
+            "certificate in Azure. Worked 5 years at Oracle. Master degree from a university. Trailing   "
+    );
+
+    @Test
+    void keywordGroupsMatchSubstringSearchOnLowercasedText() {
+        for (String sample : SAMPLES) {
+            ResumeFeatures features = ResumeFeatureExtractor.extract(sample);
+            String lower = sample.toLowerCase();
+            for (KeywordGroup group : KeywordGroup.values()) {
+                assertThat(features.has(group))
+                        .as("%s in \"%s\"", group, sample)
+                        .isEqualTo(group.keywords().stream().anyMatch(lower::contains));
+            }
+        }
+    }
+
+    @Test
+    void sentenceStatisticsMatchSplitBasedCounting() {
+        // "".split(...) yields one empty sentence; blank text is never scored for readability
+        for (String sample : SAMPLES.subList(1, SAMPLES.size())) {
+            ResumeFeatures features = ResumeFeatureExtractor.extract(sample);
+            String[] sentences = sample.split("[.!?]+");
+            int words = 0;
+            for (String s : sentences) words += s.trim().split("\\s+").length;
+
+            assertThat(features.sentenceCount()).as(sample).isEqualTo(sentences.length);
+            assertThat(features.sentenceWordCount()).as(sample).isEqualTo(words);
+            assertThat(features.blank()).isEqualTo(sample.isBlank());
+        }
+    }
+
+    @Test
+    void detectsBulletsAndQuantifiedAchievementsAcrossLines() {
+        ResumeFeatures features = ResumeFeatureExtractor.extract(SAMPLES.get(3));
+        assertThat(features.hasBullets()).isTrue();
+        assertThat(features.quantified()).isTrue();
+        assertThat(features.wordCount()).isEqualTo(16);
+
+        assertThat(ResumeFeatureExtractor.extract("Grew revenue by $5000").quantified()).isTrue();
+        assertThat(ResumeFeatureExtractor.extract("Served 10+ clients").quantified()).isTrue();
+        assertThat(ResumeFeatureExtractor.extract("Version 2 release, x marks").quantified()).isFalse();
+    }
+
+    @Test
+    void chunkedInputGivesSameFeaturesAsWholeText() {
+        for (String sample : SAMPLES) {
+            ResumeFeatureExtractor extractor = new ResumeFeatureExtractor();
+            for (int i = 0; i < sample.length(); i += 3) {
+                extractor.append(sample.substring(i, Math.min(sample.length(), i + 3)));
+            }
+            assertThat(extractor.finish()).isEqualTo(ResumeFeatureExtractor.extract(sample));
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.resumeanalyzer.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+
+class ResumeTextAccumulatorTest {
+
+    private static final String RESUME = """
+            Jane Doe | jane@example.com | +1 555 123 4567
+            Experience: 5 years building Spring Boot services on AWS with Kubernetes and PostgreSQL.
+            Projects: led a Kafka migration. Education: B.Sc. Computer Science. Certified AWS architect.
+            """;
+
+    private final TextCleaner cleaner = new TextCleaner();
+    private final SkillDataset skillDataset = new SkillDataset();
+    private final CosineSimilarity cosineSimilarity = new CosineSimilarity(cleaner);
+
+    @Test
+    void finish_matchesTheSeparateTextPasses() {
+        ResumeTextAccumulator accumulator = new ResumeTextAccumulator(skillDataset, cosineSimilarity);
+        char[] chars = RESUME.toCharArray();
+        for (int offset = 0; offset < chars.length; offset += 7) {
+            accumulator.append(chars, offset, Math.min(7, chars.length - offset));
+        }
+
+        ResumeTextAccumulator.Result result = accumulator.finish();
+
+        String cleaned = cleaner.clean(RESUME);
+        assertThat(result.text()).isEqualTo(RESUME);
+        assertThat(result.skills()).containsExactlyElementsOf(skillDataset.extractSkills(cleaned));
+        assertThat(cosineSimilarity.similarity(result.vector(), cosineSimilarity.vectorize(cleaned)))
+                .isCloseTo(1.0, offset(1e-9));
+        assertThat(result.signature()).isEqualTo(new MinHasher(cleaner).signature(RESUME));
+        assertThat(result.features()).isEqualTo(ResumeFeatureExtractor.extract(RESUME));
+    }
+
+    @Test
+    void reset_discardsWhatWasDelivered() {
+        ResumeTextAccumulator accumulator = new ResumeTextAccumulator(skillDataset, cosineSimilarity);
+        accumulator.append("Python and Django");
+        accumulator.reset();
+
+        ResumeTextAccumulator.Result result = accumulator.append("Java").finish();
+
+        assertThat(result.text()).isEqualTo("Java");
+        assertThat(result.skills()).containsExactly("java");
+    }
+}
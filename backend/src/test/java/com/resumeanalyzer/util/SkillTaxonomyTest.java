@@ -0,0 +1,46 @@
+package com.resumeanalyzer.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SkillTaxonomyTest {
+
+    @Test
+    void aliasesResolveToCanonicalSkills() {
+        SkillDataset dataset = new SkillDataset();
+        assertThat(dataset.extractSkills("Ran K8s clusters backed by Postgres, services in Golang and Node.js"))
+                .contains("kubernetes", "postgresql", "golang", "nodejs")
+                .doesNotContain("k8s", "postgres");
+        assertThat(dataset.getTaxonomy().category("kubernetes")).isEqualTo("devops");
+    }
+
+    @Test
+    void readsVersionedDocument() throws Exception {
+        String json = """
+                {"version": 7, "skills": [
+                  {"name": "Rust", "category": "language", "aliases": ["rustlang"]},
+                  {"name": "wasm", "aliases": ["WebAssembly"]}
+                ]}""";
+        SkillTaxonomy taxonomy = SkillTaxonomy.read(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(taxonomy.version()).isEqualTo(7);
+        assertThat(taxonomy.skillNames()).containsExactly("rust", "wasm");
+        assertThat(taxonomy.extractSkills("RustLang compiled to webassembly")).containsExactly("rust", "wasm");
+    }
+
+    @Test
+    void rejectsAliasSharedByTwoSkills() {
+        List<SkillTaxonomy.Skill> skills = List.of(
+                new SkillTaxonomy.Skill("go", "language", List.of("golang")),
+                new SkillTaxonomy.Skill("golang", "language", List.of()));
+        assertThatThrownBy(() -> SkillTaxonomy.compile(1, skills))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("golang");
+    }
+}
@@ -0,0 +1,62 @@
+package com.resumeanalyzer.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TextCleanerTest {
+
+    private TextCleaner textCleaner;
+
+    @BeforeEach
+    void setUp() {
+        textCleaner = new TextCleaner();
+    }
+
+    @Test
+    void clean_lowercasesStripsPunctuationAndStopwords() {
+        assertThat(textCleaner.clean("  The Java-Developer, with  SPRING & 5+ years!  "))
+                .isEqualTo("java developer spring 5 years");
+    }
+
+    @Test
+    void clean_blankText_returnsEmpty() {
+        assertThat(textCleaner.clean(null)).isEmpty();
+        assertThat(textCleaner.clean(" \n\t ")).isEmpty();
+        assertThat(textCleaner.tokenize((String) null)).isEmpty();
+        assertThat(textCleaner.tokenize("the and of")).isEmpty();
+    }
+
+    @Test
+    void tokenize_keepsNonAsciiLetters() {
+        assertThat(textCleaner.tokenize("Développeur Müller, Москва; हिन्दी 𐐀𐐁"))
+                .containsExactly("développeur", "müller", "москва", "हिन्दी", "𐐨𐐩");
+    }
+
+    @Test
+    void tokenize_sinkReceivesReusedBuffer() {
+        List<String> tokens = new ArrayList<>();
+        textCleaner.tokenize("Kubernetes and a very-long-identifier-that-outgrows-the-initial-buffer",
+                (buffer, length) -> tokens.add(new String(buffer, 0, length)));
+        assertThat(tokens).containsExactly("kubernetes", "very", "long", "identifier", "outgrows",
+                "initial", "buffer");
+    }
+
+    @Test
+    void tokenizer_joinsTokensAndSurrogatesSplitAcrossChunks() {
+        String text = "Kubernetes and Go 𐐀𐐁 developer";
+        for (int split = 0; split <= text.length(); split++) {
+            List<String> tokens = new ArrayList<>();
+            char[] chars = text.toCharArray();
+            new TextCleaner.Tokenizer((buffer, length) -> tokens.add(new String(buffer, 0, length)))
+                    .append(chars, 0, split)
+                    .append(chars, split, chars.length - split)
+                    .finish();
+            assertThat(tokens).as("split at %d", split).containsExactly(textCleaner.tokenize(text));
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.resumeanalyzer.util;
+
+import com.resumeanalyzer.exception.InvalidFileException;
+import com.resumeanalyzer.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.poi.wp.usermodel.HeaderFooterType;
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.apache.poi.xwpf.usermodel.XWPFRun;
+import org.apache.poi.xwpf.usermodel.XWPFTable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TextExtractorTest {
+
+    private final ThreadPoolExecutor pool = new ThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS,
+            new SynchronousQueue<>(), new ThreadPoolExecutor.AbortPolicy());
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void extractText_truncatesAtCharacterLimit() {
+        TextExtractor extractor = extractor(10_000, 20);
+        byte[] text = "Java developer with Spring and AWS experience".getBytes(StandardCharsets.UTF_8);
+
+        String extracted = extractor.extractText(new ByteArrayInputStream(text), UploadReader.TEXT);
+
+        assertThat(extracted).hasSize(20).isEqualTo("Java developer with ");
+        assertThat(registry.get("analysis.extraction.truncated").functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void extractText_cancelsParsePastDeadline() throws Exception {
+        TextExtractor extractor = extractor(100, 1000);
+        BlockingStream stalled = new BlockingStream();
+
+        assertThatThrownBy(() -> extractor.extractText(stalled, UploadReader.TEXT))
+                .isInstanceOf(InvalidFileException.class)
+                .hasMessageContaining("too long");
+        assertThat(stalled.interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(registry.get("analysis.extraction.timeouts").functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void extractText_rejectsWhenPoolIsFull() throws Exception {
+        TextExtractor extractor = extractor(5_000, 1000);
+        BlockingStream stalled = new BlockingStream();
+        Thread busy = new Thread(() -> {
+            try {
+                extractor.extractText(stalled, UploadReader.TEXT);
+            } catch (RuntimeException ignored) {
+                // cancelled at tearDown
+            }
+        });
+        busy.start();
+        assertThat(stalled.started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> extractor.extractText(
+                new ByteArrayInputStream("Java".getBytes(StandardCharsets.UTF_8)), UploadReader.TEXT))
+                .isInstanceOf(TooManyRequestsException.class);
+        assertThat(registry.get("analysis.extraction.rejected").functionCounter().count()).isEqualTo(1);
+        assertThat(registry.get("analysis.extraction.pool.active").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void extractText_readsPdfWithoutTika() throws Exception {
+        TextExtractor extractor = extractor(10_000, 1000);
+
+        String text = extractor.extractText(new ByteArrayInputStream(pdf("Java developer", "Spring Boot and AWS")),
+                UploadReader.PDF);
+
+        assertThat(text).contains("Java developer").contains("Spring Boot and AWS");
+        assertThat(registry.get("analysis.extraction.parses").tag("parser", "fast").functionCounter().count()).isEqualTo(1);
+        assertThat(registry.get("analysis.extraction.parses").tag("parser", "tika").functionCounter().count()).isZero();
+    }
+
+    @Test
+    void extractText_readsDocxBodyTablesAndHeaderWithoutTika() throws Exception {
+        TextExtractor extractor = extractor(10_000, 1000);
+        byte[] docx;
+        try (XWPFDocument doc = new XWPFDocument(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            doc.createHeader(HeaderFooterType.DEFAULT).createParagraph().createRun().setText("jane@example.com");
+            XWPFRun run = doc.createParagraph().createRun();
+            run.setText("Java developer");
+            run.addTab();
+            run.setText("Spring");
+            XWPFTable table = doc.createTable(1, 2);
+            table.getRow(0).getCell(0).setText("Kafka");
+            table.getRow(0).getCell(1).setText("Docker");
+            doc.write(out);
+            docx = out.toByteArray();
+        }
+
+        String text = extractor.extractText(new ByteArrayInputStream(docx), UploadReader.DOCX);
+
+        assertThat(text).contains("jane@example.com").contains("Java developer\tSpring\n").contains("Kafka").contains("Docker");
+        assertThat(registry.get("analysis.extraction.parses").tag("parser", "fast").functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void extractText_fallsBackToTikaWhenFastPathFails() {
+        TextExtractor extractor = extractor(10_000, 1000);
+        byte[] broken = "%PDF-1.4 not really a pdf".getBytes(StandardCharsets.US_ASCII);
+
+        assertThatThrownBy(() -> extractor.extractText(new ByteArrayInputStream(broken), UploadReader.PDF))
+                .isInstanceOf(InvalidFileException.class);
+        assertThat(registry.get("analysis.extraction.fallbacks").functionCounter().count()).isEqualTo(1);
+        assertThat(registry.get("analysis.extraction.parses").tag("parser", "tika").functionCounter().count()).isEqualTo(1);
+    }
+
+    private static byte[] pdf(String... lines) throws IOException {
+        try (PDDocument doc = new PDDocument(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            PDPage page = new PDPage();
+            doc.addPage(page);
+            try (PDPageContentStream content = new PDPageContentStream(doc, page)) {
+                content.beginText();
+                content.setFont(PDType1Font.HELVETICA, 11);
+                content.setLeading(14);
+                content.newLineAtOffset(40, 700);
+                for (String line : lines) {
+                    content.showText(line);
+                    content.newLine();
+                }
+                content.endText();
+            }
+            doc.save(out);
+            return out.toByteArray();
+        }
+    }
+
+    private TextExtractor extractor(long timeoutMs, int maxChars) {
+        TextExtractor extractor = new TextExtractor(pool, timeoutMs, maxChars, -1, true);
+        extractor.bindTo(registry);
+        return extractor;
+    }
+
+    /**
+     * Never yields a byte; records when a reader arrives and when it is interrupted.
+     */
+    private static final class BlockingStream extends InputStream {
+
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch interrupted = new CountDownLatch(1);
+
+        @Override
+        public int read() throws IOException {
+            started.countDown();
+            try {
+                Thread.sleep(Long.MAX_VALUE);
+                return -1;
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw new InterruptedIOException();
+            }
+        }
+    }
+}
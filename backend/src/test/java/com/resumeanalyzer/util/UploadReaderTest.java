@@ -0,0 +1,99 @@
+package com.resumeanalyzer.util;
+
+import com.resumeanalyzer.exception.InvalidFileException;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UploadReaderTest {
+
+    private final UploadReader reader = new UploadReader(64 * 1024);
+
+    @Test
+    void read_sniffsTypeAndHashesContent() throws Exception {
+        byte[] pdf = "%PDF-1.7\nresume body".getBytes(StandardCharsets.US_ASCII);
+
+        UploadReader.Upload upload = reader.read(new ByteArrayInputStream(pdf), -1);
+
+        assertThat(upload.contentType()).isEqualTo(UploadReader.PDF);
+        assertThat(upload.bytes()).isEqualTo(pdf);
+        assertThat(upload.key()).isEqualTo(HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(pdf)));
+        assertThat(upload.stream().readAllBytes()).isEqualTo(pdf);
+    }
+
+    @Test
+    void read_acceptsTextAndDocx() throws Exception {
+        byte[] text = "Java developer\r\nSpring, AWS\n".getBytes(StandardCharsets.UTF_8);
+        byte[] docx = zip("[Content_Types].xml", "word/document.xml");
+
+        assertThat(reader.read(new ByteArrayInputStream(text), text.length).contentType()).isEqualTo(UploadReader.TEXT);
+        assertThat(reader.read(new ByteArrayInputStream(docx), docx.length).contentType()).isEqualTo(UploadReader.DOCX);
+    }
+
+    @Test
+    void read_rejectsOtherZipContainers() {
+        byte[] xlsx = zip("[Content_Types].xml", "xl/workbook.xml");
+
+        assertThatThrownBy(() -> reader.read(new ByteArrayInputStream(xlsx), xlsx.length))
+                .isInstanceOf(InvalidFileException.class);
+    }
+
+    @Test
+    void read_rejectsBinaryAfterFirstChunk() {
+        CountingStream png = new CountingStream(new byte[]{(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n', 0, 0}, 1 << 20);
+
+        assertThatThrownBy(() -> new UploadReader(10 << 20).read(png, -1)).isInstanceOf(InvalidFileException.class);
+        assertThat(png.consumed).isLessThanOrEqualTo(UploadReader.SNIFF_BYTES);
+    }
+
+    @Test
+    void read_rejectsOversizedUploads() {
+        CountingStream declared = new CountingStream("text".getBytes(), 1 << 20);
+        CountingStream undeclared = new CountingStream("text".getBytes(), 1 << 20);
+
+        assertThatThrownBy(() -> reader.read(declared, 1 << 20)).isInstanceOf(MaxUploadSizeExceededException.class);
+        assertThat(declared.consumed).isZero();
+        assertThatThrownBy(() -> reader.read(undeclared, 100)).isInstanceOf(MaxUploadSizeExceededException.class);
+        assertThat(undeclared.consumed).isLessThanOrEqualTo(64 * 1024 + 1);
+    }
+
+    /**
+     * Local file headers only; enough for the reader, which never opens the archive.
+     */
+    private static byte[] zip(String... names) {
+        StringBuilder content = new StringBuilder("PK\u0003\u0004");
+        for (String name : names) content.append(name).append("<xml/>PK\u0003\u0004");
+        return content.toString().getBytes(StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * The header followed by filler up to the given length, counting bytes handed out.
+     */
+    private static final class CountingStream extends InputStream {
+
+        private final byte[] header;
+        private final int length;
+        int consumed;
+
+        CountingStream(byte[] header, int length) {
+            this.header = header;
+            this.length = length;
+        }
+
+        @Override
+        public int read() {
+            if (consumed >= length) return -1;
+            int b = consumed < header.length ? header[consumed] & 0xff : 'a';
+            consumed++;
+            return b;
+        }
+    }
+}
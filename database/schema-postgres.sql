@@ -12,6 +12,7 @@ CREATE TABLE IF NOT EXISTS users (
     email VARCHAR(255) NOT NULL UNIQUE,
     password VARCHAR(255) NOT NULL,
     role VARCHAR(50) NOT NULL DEFAULT 'USER',
+    token_version INTEGER DEFAULT 0,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
 );
 
@@ -24,7 +25,49 @@ CREATE TABLE IF NOT EXISTS analysis (
     resume_text TEXT NOT NULL,
     match_percentage DOUBLE PRECISION NOT NULL,
     resume_score DOUBLE PRECISION NOT NULL,
+    matched_skills TEXT,
+    missing_skills TEXT,
+    suggestions TEXT,
+    readability_score DOUBLE PRECISION,
+    ats_compatible BOOLEAN,
+    artifact_version INTEGER,
+    minhash_signature BYTEA,
+    upload_hash VARCHAR(64),
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
 );
 
 CREATE INDEX IF NOT EXISTS idx_analysis_user_id ON analysis(user_id);
+
+CREATE TABLE IF NOT EXISTS analysis_job (
+    id VARCHAR(36) PRIMARY KEY,
+    user_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    status VARCHAR(16) NOT NULL,
+    priority INTEGER NOT NULL,
+    file_name VARCHAR(255),
+    job_description TEXT NOT NULL,
+    resume_data BYTEA,
+    analysis_id BIGINT,
+    error VARCHAR(255),
+    owner VARCHAR(64),
+    heartbeat_at TIMESTAMP,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    completed_at TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_analysis_job_user_id ON analysis_job(user_id);
+CREATE INDEX IF NOT EXISTS idx_analysis_job_status ON analysis_job(status);
+
+CREATE TABLE IF NOT EXISTS refresh_token (
+    id BIGSERIAL PRIMARY KEY,
+    token_hash VARCHAR(64) NOT NULL,
+    family_id VARCHAR(36) NOT NULL,
+    user_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    expires_at TIMESTAMP NOT NULL,
+    used_at TIMESTAMP,
+    revoked BOOLEAN NOT NULL DEFAULT FALSE,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS idx_refresh_token_token_hash ON refresh_token(token_hash);
+CREATE INDEX IF NOT EXISTS idx_refresh_token_family_id ON refresh_token(family_id);
+CREATE INDEX IF NOT EXISTS idx_refresh_token_user_id ON refresh_token(user_id);
@@ -10,6 +10,7 @@ CREATE TABLE IF NOT EXISTS users (
     email VARCHAR(255) NOT NULL UNIQUE,
     password VARCHAR(255) NOT NULL,
     role VARCHAR(50) NOT NULL DEFAULT 'USER',
+    token_version INT DEFAULT 0,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     INDEX idx_users_email (email)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
@@ -21,7 +22,49 @@ CREATE TABLE IF NOT EXISTS analysis (
     resume_text TEXT NOT NULL,
     match_percentage DOUBLE NOT NULL,
     resume_score DOUBLE NOT NULL,
+    matched_skills TEXT,
+    missing_skills TEXT,
+    suggestions TEXT,
+    readability_score DOUBLE,
+    ats_compatible BOOLEAN,
+    artifact_version INT,
+    minhash_signature VARBINARY(512),
+    upload_hash VARCHAR(64),
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     INDEX idx_analysis_user_id (user_id),
     FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+CREATE TABLE IF NOT EXISTS analysis_job (
+    id VARCHAR(36) PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    status VARCHAR(16) NOT NULL,
+    priority INT NOT NULL,
+    file_name VARCHAR(255),
+    job_description TEXT NOT NULL,
+    resume_data LONGBLOB,
+    analysis_id BIGINT,
+    error VARCHAR(255),
+    owner VARCHAR(64),
+    heartbeat_at TIMESTAMP NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    completed_at TIMESTAMP NULL,
+    INDEX idx_analysis_job_user_id (user_id),
+    INDEX idx_analysis_job_status (status),
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+CREATE TABLE IF NOT EXISTS refresh_token (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    token_hash VARCHAR(64) NOT NULL,
+    family_id VARCHAR(36) NOT NULL,
+    user_id BIGINT NOT NULL,
+    expires_at TIMESTAMP NOT NULL,
+    used_at TIMESTAMP NULL,
+    revoked BOOLEAN NOT NULL DEFAULT FALSE,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    UNIQUE INDEX idx_refresh_token_token_hash (token_hash),
+    INDEX idx_refresh_token_family_id (family_id),
+    INDEX idx_refresh_token_user_id (user_id),
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
@@ -19,15 +19,72 @@ api.interceptors.request.use((config) => {
   return config
 })
 
+const clearSession = () => {
+  localStorage.removeItem('token')
+  localStorage.removeItem('refreshToken')
+  localStorage.removeItem('user')
+  window.location.href = '/login'
+}
+
+// Refresh tokens are single-use and shared by every tab through localStorage. Concurrent 401s in a tab
+// wait for the same rotation, and tabs take turns through a Web Lock: a token presented twice counts as
+// stolen and the server revokes the whole session.
+let refreshing: Promise<string> | null = null
+
+const withRefreshLock = <T>(task: () => Promise<T>): Promise<T> =>
+  navigator.locks ? navigator.locks.request('auth-refresh', task) : task()
+
+const bearerToken = (authorization: unknown) =>
+  typeof authorization === 'string' ? authorization.replace(/^Bearer /, '') : null
+
+const rotate = async (staleToken: string | null) => {
+  // Another tab (or an earlier request in this one) already rotated since the request was sent
+  const current = localStorage.getItem('token')
+  if (current && current !== staleToken) return current
+  const refreshToken = localStorage.getItem('refreshToken')
+  if (!refreshToken) throw new Error('No refresh token')
+  try {
+    const { data } = await axios.post<AuthResponse>(`${API_BASE}/auth/refresh`, { refreshToken })
+    localStorage.setItem('token', data.token)
+    localStorage.setItem('refreshToken', data.refreshToken)
+    return data.token
+  } catch (e) {
+    // Without Web Locks another tab may have rotated first; keep the session it stored
+    const latest = localStorage.getItem('token')
+    if (latest && latest !== staleToken) return latest
+    throw e
+  }
+}
+
+const refreshAccessToken = (staleToken: string | null) => {
+  if (!refreshing) {
+    refreshing = withRefreshLock(() => rotate(staleToken)).finally(() => {
+      refreshing = null
+    })
+  }
+  return refreshing
+}
+
 api.interceptors.response.use(
   (r) => r,
-  (err) => {
-    if (err.response?.status === 401) {
-      localStorage.removeItem('token')
-      localStorage.removeItem('user')
-      window.location.href = '/login'
+  async (err) => {
+    const original = err.config
+    if (err.response?.status !== 401 || !original || original.url?.startsWith('/auth/')) {
+      return Promise.reject(err)
+    }
+    if (original._retried) {
+      clearSession()
+      return Promise.reject(err)
+    }
+    try {
+      const token = await refreshAccessToken(bearerToken(original.headers.Authorization))
+      original._retried = true
+      original.headers.Authorization = `Bearer ${token}`
+      return api(original)
+    } catch {
+      clearSession()
+      return Promise.reject(err)
     }
-    return Promise.reject(err)
   }
 )
 
@@ -38,19 +95,58 @@ export const register = (data: { name: string; email: string; password: string }
 export const login = (data: { email: string; password: string }) =>
   api.post<AuthResponse>('/auth/login', data)
 
+export const logout = (refreshToken: string) =>
+  api.post<void>('/auth/logout', { refreshToken })
+
 // Profile
 export const getProfile = () => api.get<UserProfile>('/profile')
 
 // Analysis
-export const analyzeResume = (jobDescription: string, file: File) => {
+const JOB_WAIT_MS = 25000
+const JOB_TIMEOUT_MS = 5 * 60000
+// Least time between polls, in case the server answers a long-poll early
+const JOB_MIN_POLL_MS = 2000
+
+const sleep = (ms: number) => new Promise((resolve) => setTimeout(resolve, ms))
+
+export const submitAnalysisJob = (jobDescription: string, file: File) => {
   const form = new FormData()
   form.append('jobDescription', jobDescription)
   form.append('resume', file)
-  return api.post<AnalysisResponse>('/analyze', form, {
+  return api.post<AnalysisJob>('/analyze/jobs', form, {
     headers: { 'Content-Type': 'multipart/form-data' },
   })
 }
 
+export const getAnalysisJob = (jobId: string, waitMs = 0) =>
+  api.get<AnalysisJob>(`/analyze/jobs/${jobId}?waitMs=${waitMs}`, { timeout: waitMs + 30000 })
+
+// Same shape as an axios error, so callers read the message from response.data either way
+const jobError = (message: string) => ({ response: { data: { message } } })
+
+/**
+ * Queue the analysis and long-poll the job until it finishes; resolves like a plain request would.
+ */
+export const analyzeResume = async (jobDescription: string, file: File) => {
+  const { data: submitted } = await submitAnalysisJob(jobDescription, file)
+  const deadline = Date.now() + JOB_TIMEOUT_MS
+  let job = submitted
+  while (job.status === 'QUEUED' || job.status === 'RUNNING') {
+    if (Date.now() > deadline) throw jobError('Analysis is taking longer than expected. Check your history later.')
+    const started = Date.now()
+    const { data } = await getAnalysisJob(job.jobId, JOB_WAIT_MS)
+    job = data
+    const elapsed = Date.now() - started
+    if ((job.status === 'QUEUED' || job.status === 'RUNNING') && elapsed < JOB_MIN_POLL_MS) {
+      await sleep(JOB_MIN_POLL_MS - elapsed)
+    }
+  }
+  if (job.status === 'FAILED' || !job.analysis) {
+    throw jobError(job.error ?? 'Analysis failed')
+  }
+  return { data: job.analysis }
+}
+
 export const getHistory = (page = 0, size = 20) =>
   api.get<AnalysisHistoryItem[]>(`/analyze/history?page=${page}&size=${size}`)
 
@@ -64,6 +160,7 @@ export const downloadReport = (id: number) =>
 // Types
 export interface AuthResponse {
   token: string
+  refreshToken: string
   type: string
   id: number
   name: string
@@ -90,6 +187,16 @@ export interface AnalysisResponse {
   atsCompatible?: boolean
 }
 
+export interface AnalysisJob {
+  jobId: string
+  status: 'QUEUED' | 'RUNNING' | 'SUCCEEDED' | 'FAILED'
+  fileName?: string
+  createdAt: string
+  completedAt?: string
+  analysis?: AnalysisResponse
+  error?: string
+}
+
 export interface AnalysisHistoryItem {
   id: number
   matchPercentage: number
@@ -27,8 +27,8 @@ export default function Navbar() {
   )
   const navBlur = useTransform(scrollY, [0, 60], ['blur(12px)', 'blur(24px)'])
 
-  const handleLogout = () => {
-    logout()
+  const handleLogout = async () => {
+    await logout()
     navigate('/login')
   }
 
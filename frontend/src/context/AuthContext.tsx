@@ -1,4 +1,5 @@
 import { createContext, useContext, useState, useEffect, ReactNode } from 'react'
+import { logout as revokeRefreshToken } from '../api/client'
 import type { AuthResponse } from '../api/client'
 
 interface User {
@@ -12,7 +13,7 @@ interface AuthContextType {
   user: User | null
   loading: boolean
   login: (data: AuthResponse) => void
-  logout: () => void
+  logout: () => Promise<void>
 }
 
 const AuthContext = createContext<AuthContextType | undefined>(undefined)
@@ -29,6 +30,7 @@ export function AuthProvider({ children }: { children: ReactNode }) {
       } catch {
         localStorage.removeItem('user')
         localStorage.removeItem('token')
+        localStorage.removeItem('refreshToken')
       }
     }
     setLoading(false)
@@ -38,12 +40,19 @@ export function AuthProvider({ children }: { children: ReactNode }) {
     const u = { id: data.id, name: data.name, email: data.email, role: data.role }
     setUser(u)
     localStorage.setItem('token', data.token)
+    localStorage.setItem('refreshToken', data.refreshToken)
     localStorage.setItem('user', JSON.stringify(u))
   }
 
-  const logout = () => {
+  const logout = async () => {
+    // Revoke the refresh token server-side; local state is cleared even if that fails (e.g. offline)
+    const refreshToken = localStorage.getItem('refreshToken')
+    if (refreshToken) {
+      await revokeRefreshToken(refreshToken).catch(() => undefined)
+    }
     setUser(null)
     localStorage.removeItem('token')
+    localStorage.removeItem('refreshToken')
     localStorage.removeItem('user')
   }
 